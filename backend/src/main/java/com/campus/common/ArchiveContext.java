@@ -0,0 +1,48 @@
+package com.campus.common;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 归档查询上下文
+ * 在 {@link #query(Supplier)} 内执行的 SQL 会把订单表、私聊表替换为对应的归档表（由动态表名插件完成），
+ * 因此已有的查询条件可以原样用于查询归档数据
+ */
+public final class ArchiveContext {
+
+    /**
+     * 参与归档的热表
+     */
+    public static final Set<String> TABLES = Set.of("biz_order", "biz_chat");
+
+    public static final String SUFFIX = "_archive";
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private ArchiveContext() {
+    }
+
+    /**
+     * 在归档表上执行查询
+     */
+    public static <T> T query(Supplier<T> action) {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 返回当前上下文下实际要访问的表名
+     */
+    public static String resolve(String tableName) {
+        return Boolean.TRUE.equals(ACTIVE.get()) && TABLES.contains(tableName) ? tableName + SUFFIX : tableName;
+    }
+}
@@ -0,0 +1,114 @@
+package com.campus.common;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.campus.exception.ServiceException;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页结果
+ * 按 (create_time, id) 倒序的键集分页：不执行 COUNT，翻到任意深度的代价与第一页相同
+ */
+@Data
+public class CursorPage<T> implements Serializable {
+
+    private static final int MAX_SIZE = 100;
+
+    /**
+     * 本页记录
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private boolean hasMore;
+
+    /**
+     * 为查询追加游标条件、排序和 LIMIT（多取一条用于判断是否还有下一页）
+     *
+     * @param wrapper    查询条件
+     * @param cursor     上一页返回的游标，首页传 null 或空串
+     * @param timeColumn 创建时间列
+     * @param idColumn   主键列
+     * @param size       每页条数
+     */
+    public static <E> void apply(LambdaQueryWrapper<E> wrapper, String cursor,
+            SFunction<E, LocalDateTime> timeColumn, SFunction<E, Long> idColumn, int size) {
+        if (cursor != null && !cursor.isEmpty()) {
+            Key key = decode(cursor);
+            wrapper.and(w -> w.lt(timeColumn, key.time)
+                    .or(o -> o.eq(timeColumn, key.time).lt(idColumn, key.id)));
+        }
+        wrapper.orderByDesc(timeColumn).orderByDesc(idColumn);
+        wrapper.last("LIMIT " + (normalizeSize(size) + 1));
+    }
+
+    /**
+     * 根据多取一条的查询结果构建游标分页
+     */
+    public static <E> CursorPage<E> of(List<E> rows, int size,
+            Function<E, LocalDateTime> timeGetter, Function<E, Long> idGetter) {
+        int limit = normalizeSize(size);
+        CursorPage<E> page = new CursorPage<>();
+        page.setHasMore(rows.size() > limit);
+        List<E> records = rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        page.setRecords(records);
+        if (page.isHasMore()) {
+            E last = records.get(records.size() - 1);
+            page.setNextCursor(encode(timeGetter.apply(last), idGetter.apply(last)));
+        }
+        return page;
+    }
+
+    /**
+     * 转换本页记录类型，游标保持不变
+     */
+    public <R> CursorPage<R> convert(Function<List<T>, List<R>> converter) {
+        CursorPage<R> page = new CursorPage<>();
+        page.setRecords(converter.apply(records));
+        page.setNextCursor(nextCursor);
+        page.setHasMore(hasMore);
+        return page;
+    }
+
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    private static String encode(LocalDateTime time, Long id) {
+        String raw = time + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('_');
+            Key key = new Key();
+            key.time = LocalDateTime.parse(raw.substring(0, sep));
+            key.id = Long.valueOf(raw.substring(sep + 1));
+            return key;
+        } catch (RuntimeException e) {
+            throw new ServiceException(ResultCode.VALIDATE_FAILED.getCode(), "无效的分页游标");
+        }
+    }
+
+    private static class Key {
+        private LocalDateTime time;
+        private Long id;
+    }
+}
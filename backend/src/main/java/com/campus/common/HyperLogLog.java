@@ -0,0 +1,240 @@
+package com.campus.common;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog 基数估计（精度 p = 13，8192 个寄存器，标准误差约 1.15%）
+ * 元素较少时使用稀疏表示：按寄存器下标有序存放 (下标 << 6 | 秩)，只记录非零寄存器；
+ * 稀疏项超过 1024 个（4KB）时转为每寄存器一字节的稠密表示（8KB）。
+ * 同精度的草图可以合并，合并结果等价于对两个集合的并集计数。非线程安全
+ */
+public class HyperLogLog {
+
+    private static final int P = 13;
+
+    private static final int M = 1 << P;
+
+    private static final int SPARSE_LIMIT = M / 8;
+
+    /**
+     * 哈希除去下标后剩余的位数，秩的取值范围为 1..Q+1
+     */
+    private static final int Q = 64 - P;
+
+    private static final double ALPHA_INF = 0.5 / Math.log(2);
+
+    private static final byte SPARSE = 0;
+
+    private static final byte DENSE = 1;
+
+    /**
+     * 稀疏项，按下标升序
+     */
+    private int[] sparse = new int[8];
+
+    private int sparseSize;
+
+    /**
+     * 稠密寄存器，为 null 表示处于稀疏模式
+     */
+    private byte[] dense;
+
+    /**
+     * 添加一个元素
+     */
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - P));
+        int rank = Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1;
+        update(index, rank);
+    }
+
+    /**
+     * 合并另一个草图
+     */
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            toDense();
+            for (int i = 0; i < M; i++) {
+                if (other.dense[i] > dense[i]) {
+                    dense[i] = other.dense[i];
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < other.sparseSize; i++) {
+            update(other.sparse[i] >>> 6, other.sparse[i] & 0x3F);
+        }
+    }
+
+    /**
+     * 估计基数（Ertl 改进估计量：基于寄存器取值直方图，全范围无偏，无需小基数修正）
+     */
+    public long estimate() {
+        int[] histogram = new int[Q + 2];
+        if (dense == null) {
+            histogram[0] = M - sparseSize;
+            for (int i = 0; i < sparseSize; i++) {
+                histogram[sparse[i] & 0x3F]++;
+            }
+        } else {
+            for (byte register : dense) {
+                histogram[register]++;
+            }
+        }
+        double z = M * tau(1d - (double) histogram[Q + 1] / M);
+        for (int k = Q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += M * sigma((double) histogram[0] / M);
+        return Math.round(ALPHA_INF * M * M / z);
+    }
+
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog();
+        copy.sparse = Arrays.copyOf(sparse, sparse.length);
+        copy.sparseSize = sparseSize;
+        copy.dense = dense == null ? null : Arrays.copyOf(dense, M);
+        return copy;
+    }
+
+    /**
+     * 序列化：1 字节模式，稀疏为项数加各项，稠密为全部寄存器
+     */
+    public byte[] toBytes() {
+        if (dense != null) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + M);
+            buffer.put(DENSE).put(dense);
+            return buffer.array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + sparseSize * 4);
+        buffer.put(SPARSE).putInt(sparseSize);
+        for (int i = 0; i < sparseSize; i++) {
+            buffer.putInt(sparse[i]);
+        }
+        return buffer.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        HyperLogLog hll = new HyperLogLog();
+        if (buffer.get() == DENSE) {
+            hll.dense = new byte[M];
+            buffer.get(hll.dense);
+            return hll;
+        }
+        int size = buffer.getInt();
+        hll.sparse = new int[Math.max(size, 8)];
+        for (int i = 0; i < size; i++) {
+            hll.sparse[i] = buffer.getInt();
+        }
+        hll.sparseSize = size;
+        return hll;
+    }
+
+    private void update(int index, int rank) {
+        if (dense != null) {
+            if (rank > dense[index]) {
+                dense[index] = (byte) rank;
+            }
+            return;
+        }
+        int position = findSparse(index);
+        if (position >= 0) {
+            if (rank > (sparse[position] & 0x3F)) {
+                sparse[position] = index << 6 | rank;
+            }
+            return;
+        }
+        if (sparseSize >= SPARSE_LIMIT) {
+            toDense();
+            update(index, rank);
+            return;
+        }
+        int insertAt = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, SPARSE_LIMIT));
+        }
+        System.arraycopy(sparse, insertAt, sparse, insertAt + 1, sparseSize - insertAt);
+        sparse[insertAt] = index << 6 | rank;
+        sparseSize++;
+    }
+
+    /**
+     * 按下标二分查找稀疏项，未找到时返回 -(插入位置) - 1
+     */
+    private int findSparse(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = sparse[mid] >>> 6;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        if (dense != null) {
+            return;
+        }
+        dense = new byte[M];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 6] = (byte) (sparse[i] & 0x3F);
+        }
+        sparse = new int[0];
+        sparseSize = 0;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1d) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1d;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0d || x == 1d) {
+            return 0d;
+        }
+        double y = 1d;
+        double z = 1d - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= Math.pow(1d - x, 2) * y;
+        } while (z != previous);
+        return z / 3d;
+    }
+
+    /**
+     * 64 位混淆（MurmurHash3 fmix64），使相邻的用户ID均匀分布
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
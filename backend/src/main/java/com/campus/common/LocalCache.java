@@ -0,0 +1,159 @@
+package com.campus.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 本地缓存
+ * 容量有界（LRU 淘汰）+ 写入后过期；同一个 key 的并发未命中合并为一次加载；记录命中率和加载耗时
+ */
+public class LocalCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    public LocalCache(int maxSize, long ttl, TimeUnit unit) {
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LocalCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 加载；loader 返回 null 时不缓存
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            // 已有线程在加载同一个 key，等待其结果
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            // 注册加载任务前可能刚有其他线程写入
+            V value = getIfPresent(key);
+            if (value != null) {
+                future.complete(value);
+                return value;
+            }
+            value = loader.apply(key);
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+            if (value != null) {
+                synchronized (this) {
+                    // 加载期间被 invalidate 过则不写入，避免缓存旧数据
+                    if (loading.get(key) == future) {
+                        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                    }
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expireAt > 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        loading.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        loading.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 缓存统计：命中率、平均加载耗时等
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long loadCount = loads.sum();
+        long requestCount = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        stats.put("loadCount", loadCount);
+        stats.put("loadFailureCount", loadFailures.sum());
+        stats.put("averageLoadMillis", loadCount == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / loadCount);
+        stats.put("evictionCount", evictions.sum());
+        return stats;
+    }
+}
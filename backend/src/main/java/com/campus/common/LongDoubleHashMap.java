@@ -0,0 +1,191 @@
+package com.campus.common;
+
+import java.util.Arrays;
+
+/**
+ * long -> double 哈希表
+ * 开放寻址 + 线性探测，键值存放在原始类型数组中，避免装箱；key 必须为正数（0 作为空槽标记）
+ * 非线程安全，由调用方加锁
+ */
+public class LongDoubleHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    /**
+     * 遍历回调
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long key, double value);
+    }
+
+    public LongDoubleHashMap() {
+        this(16);
+    }
+
+    public LongDoubleHashMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * 获取值，不存在时返回 defaultValue
+     */
+    public double get(long key, double defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    public void put(long key, double value) {
+        checkKey(key);
+        int slot = slotOf(key);
+        while (keys[slot] != 0L) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * 累加并返回新值，不存在时从 0 开始
+     */
+    public double addTo(long key, double delta) {
+        checkKey(key);
+        int slot = slotOf(key);
+        while (keys[slot] != 0L) {
+            if (keys[slot] == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    public void remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return;
+        }
+        // 向后移位删除：把后续同一探测链上的元素前移，保证查找不被空槽截断
+        int gap = index;
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != 0L) {
+            int home = slotOf(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = 0L;
+        values[gap] = 0d;
+        size--;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, 0d);
+        size = 0;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0L) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 所有值乘以 factor，并删除结果小于 threshold 的条目
+     */
+    public void scale(double factor, double threshold) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(keys.length);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                double value = oldValues[i] * factor;
+                if (value >= threshold) {
+                    put(oldKeys[i], value);
+                }
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        if (key == 0L) {
+            return -1;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != 0L) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0L) {
+            throw new IllegalArgumentException("key 不能为 0");
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(capacity, 16);
+    }
+}
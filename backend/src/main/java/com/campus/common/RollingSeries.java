@@ -0,0 +1,81 @@
+package com.campus.common;
+
+import java.util.Arrays;
+
+/**
+ * 定长环形时间序列
+ * 时间按固定步长分桶，桶号对容量取模定位槽位；槽位中记录所属桶号，写入新桶时覆盖旧数据，
+ * 因此只保留最近 capacity 个桶。每个指标一个 long 数组，无装箱、无对象分配
+ */
+public class RollingSeries {
+
+    private final long step;
+    private final int capacity;
+    private final long[] slots;
+    private final long[][] values;
+
+    /**
+     * @param step     桶步长（秒）
+     * @param capacity 保留的桶数
+     * @param metrics  指标数
+     */
+    public RollingSeries(long step, int capacity, int metrics) {
+        this.step = step;
+        this.capacity = capacity;
+        this.slots = new long[capacity];
+        this.values = new long[metrics][capacity];
+        Arrays.fill(slots, Long.MIN_VALUE);
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * 以 now 为最新时刻时，保留范围内最早的桶起始时间
+     */
+    public long oldest(long now) {
+        return (Math.floorDiv(now, step) - capacity + 1) * step;
+    }
+
+    /**
+     * 累加指标值；早于保留范围的数据被忽略
+     *
+     * @param time 时间（秒）
+     */
+    public synchronized void add(long time, int metric, long delta) {
+        long bucket = Math.floorDiv(time, step);
+        int index = (int) Math.floorMod(bucket, (long) capacity);
+        if (slots[index] != bucket) {
+            if (slots[index] > bucket) {
+                return;
+            }
+            slots[index] = bucket;
+            for (long[] value : values) {
+                value[index] = 0L;
+            }
+        }
+        values[metric][index] += delta;
+    }
+
+    /**
+     * 汇总 [from, to) 内各桶的指标值，from、to 需按步长对齐
+     */
+    public synchronized long sum(long from, long to, int metric) {
+        long total = 0L;
+        for (long bucket = Math.floorDiv(from, step), end = Math.floorDiv(to, step); bucket < end; bucket++) {
+            int index = (int) Math.floorMod(bucket, (long) capacity);
+            if (slots[index] == bucket) {
+                total += values[metric][index];
+            }
+        }
+        return total;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(slots, Long.MIN_VALUE);
+        for (long[] value : values) {
+            Arrays.fill(value, 0L);
+        }
+    }
+}
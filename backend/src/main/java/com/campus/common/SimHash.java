@@ -0,0 +1,71 @@
+package com.campus.common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 64 位 SimHash
+ * 文本分词后每个词条哈希为 64 位，按词频加权逐位投票，得到的指纹在文本相近时海明距离也小
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    /**
+     * 计算标题和描述的指纹，标题词条权重加倍
+     */
+    public static long of(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTokens(weights, TextTokenizer.tokenize(title), 2);
+        addTokens(weights, TextTokenizer.tokenize(description), 1);
+        if (weights.isEmpty()) {
+            return 0L;
+        }
+        int[] votes = new int[64];
+        weights.forEach((token, weight) -> {
+            long h = hash(token);
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += ((h >>> bit) & 1L) != 0 ? weight : -weight;
+            }
+        });
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 海明距离
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void addTokens(Map<String, Integer> weights, List<String> tokens, int weight) {
+        for (String token : tokens) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * FNV-1a 64 位哈希，再做一次雪崩混合让各位分布均匀
+     */
+    private static long hash(String token) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
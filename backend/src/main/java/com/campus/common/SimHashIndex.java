@@ -0,0 +1,89 @@
+package com.campus.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SimHash 分段索引（LSH）
+ * 64 位指纹切成 4 段 16 位，每段一张哈希表。海明距离不超过 3 的两个指纹至少有一段完全相同（抽屉原理），
+ * 因此查询只需取出 4 个桶里的候选再逐个比较距离，期望 O(1)
+ * 非线程安全，由调用方加锁
+ */
+public class SimHashIndex {
+
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 16;
+
+    /**
+     * 能保证查全的最大海明距离
+     */
+    public static final int MAX_DISTANCE = BANDS - 1;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Integer, Set<Long>>[] buckets = new Map[BANDS];
+
+    private final Map<Long, Long> fingerprints = new HashMap<>();
+
+    public SimHashIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band] = new HashMap<>();
+        }
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    public void add(long id, long fingerprint) {
+        remove(id);
+        fingerprints.put(id, fingerprint);
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band].computeIfAbsent(bandValue(fingerprint, band), key -> new HashSet<>()).add(id);
+        }
+    }
+
+    public void remove(long id) {
+        Long fingerprint = fingerprints.remove(id);
+        if (fingerprint == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            int key = bandValue(fingerprint, band);
+            Set<Long> bucket = buckets[band].get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets[band].remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查找与指纹海明距离不超过 maxDistance 的条目ID
+     */
+    public List<Long> query(long fingerprint, int maxDistance) {
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets[band].get(bandValue(fingerprint, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        List<Long> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            if (SimHash.distance(fingerprints.get(id), fingerprint) <= maxDistance) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private static int bandValue(long fingerprint, int band) {
+        return (int) ((fingerprint >>> (band * BAND_BITS)) & 0xFFFF);
+    }
+}
@@ -0,0 +1,79 @@
+package com.campus.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 文本分词工具
+ * 中日韩文字按二元组 (bigram) 切分，单个汉字单独成词；字母数字按单词切分并转小写；其他字符视为分隔符
+ */
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * 对文本分词，返回的词条保留重复（用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int len = text.length();
+        int i = 0;
+        while (i < len) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                while (i < len && isCjk(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                emitBigrams(text.substring(start, i), tokens);
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < len) {
+                    int c = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(c) || isCjk(c)) {
+                        break;
+                    }
+                    i += Character.charCount(c);
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 是否为中日韩文字
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 是否为单个中日韩字符组成的词条（二元组索引无法命中，需要回退到其他检索方式）
+     */
+    public static boolean isSingleCjk(String token) {
+        return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+    }
+
+    private static void emitBigrams(String run, List<String> tokens) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int k = 0; k + 1 < cps.length; k++) {
+            tokens.add(new String(cps, k, 2));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.campus.common;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * 第一层每格 tickMs、共 wheelSize 格，超出本层范围的任务放入按需创建的上一层（每格为下一层一圈的时长）。
+ * 添加、取消都是 O(1)；只有非空的格子进入 DelayQueue，驱动线程只在有格子到期时才被唤醒，
+ * 上层格子到期时把其中的任务降级重新放入下层，直到在第一层到期后交给 executor 执行
+ */
+public class TimingWheel<T> {
+
+    private final Level<T> root;
+    private final DelayQueue<Bucket<T>> queue = new DelayQueue<>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Consumer<T> onExpire;
+    private final Executor executor;
+    private final Thread driver;
+    private volatile boolean running = true;
+
+    /**
+     * 定时任务句柄
+     */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long expiration;
+        private volatile Bucket<T> bucket;
+        private volatile boolean cancelled;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long expiration) {
+            this.payload = payload;
+            this.expiration = expiration;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getExpiration() {
+            return expiration;
+        }
+
+        /**
+         * 取消任务；已经开始执行的任务无法取消
+         */
+        public void cancel() {
+            cancelled = true;
+            Bucket<T> current;
+            while ((current = bucket) != null) {
+                current.remove(this);
+            }
+        }
+    }
+
+    /**
+     * 时间格：同一到期时间的任务组成双向链表
+     */
+    private static final class Bucket<T> implements Delayed {
+        private final Timeout<T> head = new Timeout<>(null, -1L);
+        private final AtomicLong expiration = new AtomicLong(-1L);
+        private final AtomicInteger counter;
+
+        private Bucket(AtomicInteger counter) {
+            this.counter = counter;
+            head.next = head;
+            head.prev = head;
+        }
+
+        /**
+         * 设置到期时间，返回是否发生变化（变化说明该格被复用，需要重新放入 DelayQueue）
+         */
+        private boolean setExpiration(long value) {
+            return expiration.getAndSet(value) != value;
+        }
+
+        private long getExpiration() {
+            return expiration.get();
+        }
+
+        private synchronized void add(Timeout<T> timeout) {
+            if (timeout.bucket != null) {
+                return;
+            }
+            Timeout<T> tail = head.prev;
+            timeout.next = head;
+            timeout.prev = tail;
+            tail.next = timeout;
+            head.prev = timeout;
+            timeout.bucket = this;
+            counter.incrementAndGet();
+        }
+
+        private synchronized void remove(Timeout<T> timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            counter.decrementAndGet();
+        }
+
+        /**
+         * 取出全部任务并重置到期时间
+         */
+        private synchronized void flush(Consumer<Timeout<T>> consumer) {
+            Timeout<T> timeout = head.next;
+            while (timeout != head) {
+                remove(timeout);
+                consumer.accept(timeout);
+                timeout = head.next;
+            }
+            expiration.set(-1L);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((Bucket<?>) other).getExpiration());
+        }
+    }
+
+    /**
+     * 一层时间轮
+     */
+    private static final class Level<T> {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<T>[] buckets;
+        private final DelayQueue<Bucket<T>> queue;
+        private final AtomicInteger counter;
+        private long currentTime;
+        private volatile Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize, long startMs, DelayQueue<Bucket<T>> queue, AtomicInteger counter) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.queue = queue;
+            this.counter = counter;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>(counter);
+            }
+        }
+
+        /**
+         * 放入任务；已取消或已到期时返回 false
+         */
+        private boolean add(Timeout<T> timeout) {
+            long expiration = timeout.expiration;
+            if (timeout.cancelled || expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket<T> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            return overflow().add(timeout);
+        }
+
+        private Level<T> overflow() {
+            if (overflow == null) {
+                synchronized (this) {
+                    if (overflow == null) {
+                        overflow = new Level<>(interval, wheelSize, currentTime, queue, counter);
+                    }
+                }
+            }
+            return overflow;
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param name      驱动线程名
+     * @param tickMs    第一层每格时长（精度）
+     * @param wheelSize 每层格数
+     * @param onExpire  到期回调
+     * @param executor  执行到期回调的线程池，避免阻塞驱动线程
+     */
+    public TimingWheel(String name, long tickMs, int wheelSize, Consumer<T> onExpire, Executor executor) {
+        this.root = new Level<>(tickMs, wheelSize, System.currentTimeMillis(), queue, counter);
+        this.onExpire = onExpire;
+        this.executor = executor;
+        this.driver = new Thread(this::drive, name);
+        this.driver.setDaemon(true);
+        this.driver.start();
+    }
+
+    /**
+     * 添加定时任务，到期时间已过的任务立即交给 executor 执行
+     *
+     * @param deadlineMillis 到期时间（毫秒时间戳）
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(payload, deadlineMillis);
+        lock.readLock().lock();
+        try {
+            addOrFire(timeout);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return timeout;
+    }
+
+    /**
+     * 等待中的任务数
+     */
+    public int size() {
+        return counter.get();
+    }
+
+    public void shutdown() {
+        running = false;
+        driver.interrupt();
+    }
+
+    private void addOrFire(Timeout<T> timeout) {
+        if (!root.add(timeout) && !timeout.cancelled) {
+            executor.execute(() -> onExpire.accept(timeout.payload));
+        }
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                Bucket<T> bucket = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (bucket == null) {
+                    continue;
+                }
+                lock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        root.advanceClock(bucket.getExpiration());
+                        bucket.flush(this::addOrFire);
+                        bucket = queue.poll();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
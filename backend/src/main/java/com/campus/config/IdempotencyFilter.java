@@ -0,0 +1,223 @@
+package com.campus.config;
+
+import cn.hutool.core.util.HexUtil;
+import cn.hutool.crypto.SecureUtil;
+import com.campus.common.JwtUtils;
+import com.campus.service.IdempotencyService;
+import com.campus.service.IdempotencyService.StoredResponse;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+
+/**
+ * 幂等请求过滤器
+ * 对配置的 POST 接口，携带 Idempotency-Key 请求头时同一用户的相同键只执行一次：
+ * 重试直接返回首次保存的响应，不再进入业务逻辑；首次请求仍在处理时返回 409，
+ * 同一个键携带不同的请求内容时返回 422，键超长时返回 400
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * 请求属性：设置后本次响应不保存（例如发生未知异常）
+     */
+    public static final String SKIP_ATTRIBUTE = IdempotencyFilter.class.getName() + ".SKIP";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("#{'${idempotency.paths:/api/order/create,/api/goods/publish,/api/goods/batch-publish}'.split(',')}")
+    private Set<String> paths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !StringUtils.hasText(request.getHeader(HEADER))
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER);
+        if (clientKey.length() > MAX_KEY_LENGTH) {
+            // 不能静默跳过，否则客户端以为受保护，重试却会重复执行
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Idempotency-Key 长度不能超过 " + MAX_KEY_LENGTH);
+            return;
+        }
+        // 幂等键按用户隔离；Token 无效时不处理，交给 JWT 拦截器拒绝
+        String token = request.getHeader("Authorization");
+        if (!StringUtils.hasLength(token) || !jwtUtils.validateToken(token)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Claims claims = jwtUtils.getClaimsByToken(token);
+        String key = SecureUtil.sha256(claims.get("userId") + ":" + request.getRequestURI() + ":" + clientKey);
+
+        StoredResponse stored = idempotencyService.begin(key);
+        if (stored != null) {
+            if (stored.isPending()) {
+                writeError(response, HttpServletResponse.SC_CONFLICT, "请求正在处理中，请稍后重试");
+                return;
+            }
+            // 同一个键携带了不同的请求内容，不能回放首次的响应
+            String requestHash = new HashingRequest(request).finish();
+            if (stored.getRequestHash() != null && !stored.getRequestHash().equals(requestHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY.value(), "Idempotency-Key 已用于内容不同的请求");
+                return;
+            }
+            response.setStatus(stored.getStatusCode());
+            if (stored.getContentType() != null) {
+                response.setContentType(stored.getContentType());
+            }
+            response.setHeader("Idempotent-Replayed", "true");
+            response.getOutputStream().write(stored.getBody());
+            return;
+        }
+
+        // 边读边计算请求体摘要，不缓存请求体，批量发布仍可流式读取
+        HashingRequest hashing = new HashingRequest(request);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(hashing, wrapper);
+            // 5xx 或未知异常视为未完成，允许客户端用同一个键重试
+            if (wrapper.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                    && request.getAttribute(SKIP_ATTRIBUTE) == null) {
+                idempotencyService.complete(key, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), hashing.finish()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abort(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"code\": " + status + ", \"message\": \"" + message + "\"}");
+    }
+
+    /**
+     * 读取请求体的同时计算 SHA-256 摘要（连同查询串），请求体本身不做缓存
+     */
+    private static final class HashingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest;
+
+        private ServletInputStream input;
+
+        private BufferedReader reader;
+
+        private HashingRequest(HttpServletRequest request) {
+            super(request);
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (input == null) {
+                ServletInputStream delegate = super.getInputStream();
+                input = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) {
+                            digest.update((byte) b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = delegate.read(b, off, len);
+                        if (n > 0) {
+                            digest.update(b, off, n);
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        delegate.setReadListener(listener);
+                    }
+                };
+            }
+            return input;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                        encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+            }
+            return reader;
+        }
+
+        /**
+         * 读完业务未读取的剩余部分，返回完整请求的摘要
+         */
+        private String finish() throws IOException {
+            InputStream in = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) >= 0) {
+                // 只为计算摘要
+            }
+            return HexUtil.encodeHexStr(digest.digest());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.campus.config;
 
 import com.campus.common.JwtUtils;
+import com.campus.service.DashboardStreamService;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -15,9 +16,14 @@ import org.springframework.web.servlet.HandlerInterceptor;
 @Component
 public class JwtInterceptor implements HandlerInterceptor {
 
+    private static final String STREAM_PATH = "/api/admin/dashboard/stream";
+
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
@@ -26,6 +32,16 @@ public class JwtInterceptor implements HandlerInterceptor {
             return true;
         }
 
+        // EventSource 不能设置请求头，实时推送接口只接受一次性票据，登录 Token 只能放在请求头中
+        if (STREAM_PATH.equals(request.getRequestURI())) {
+            if (dashboardStreamService.redeemTicket(request.getParameter("ticket"))) {
+                return true;
+            }
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("{\"code\": 401, \"message\": \"Unauthorized\"}");
+            return false;
+        }
+
         String token = request.getHeader("Authorization");
         if (StringUtils.hasLength(token)) {
             if (jwtUtils.validateToken(token)) {
@@ -1,7 +1,9 @@
 package com.campus.config;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.campus.common.ArchiveContext;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.DynamicTableNameInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,6 +22,9 @@ public class MybatisPlusConfig {
     public MybatisPlusInterceptor mybatisPlusInterceptor() {
     // 创建MybatisPlusInterceptor实例，用于添加各种内部拦截器
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+    // 动态表名插件：ArchiveContext 内的查询改为访问归档表，需在分页插件之前
+        interceptor.addInnerInterceptor(new DynamicTableNameInnerInterceptor(
+                (sql, tableName) -> ArchiveContext.resolve(tableName)));
     // 添加MySQL数据库的分页插件，实现分页功能
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
     // 返回配置好的拦截器实例
@@ -37,6 +37,11 @@ public class WebMvcConfig implements WebMvcConfigurer {
                         "/api/user/info/**", // 用户公开信息
                         "/api/common/upload", // 文件上传
                         "/api/goods/list", // 商品列表
+                        "/api/goods/list/cursor", // 商品列表（游标分页）
+                        "/api/goods/list/card", // 商品卡片列表
+                        "/api/goods/trending", // 热门商品
+                        "/api/goods/similar/**", // 相似商品
+                        "/api/goods/facets", // 商品分面统计
                         "/api/goods/detail/**", // 商品详情
                         "/api/category/list", // 分类列表
                         "/files/**", // 静态资源
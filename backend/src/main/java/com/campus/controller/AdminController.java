@@ -79,4 +79,16 @@ public class AdminController {
         sysAdminService.updateById(admin);
         return Result.success("更新成功");
     }
+
+    @Autowired
+    private com.campus.service.ArchiveService archiveService;
+
+    /**
+     * 立即执行一次冷数据归档（平时由每月定时任务执行）
+     */
+    @Operation(summary = "执行数据归档")
+    @PostMapping("/archive/run")
+    public Result<Map<String, Integer>> runArchive() {
+        return Result.success(archiveService.archive());
+    }
 }
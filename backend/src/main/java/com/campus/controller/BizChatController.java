@@ -1,9 +1,12 @@
 package com.campus.controller;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.common.ArchiveContext;
+import com.campus.common.CursorPage;
 import com.campus.common.Result;
 import com.campus.entity.BizChat;
 import com.campus.service.BizChatService;
+import com.campus.service.UniqueCounterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +26,9 @@ public class BizChatController {
     @Autowired
     private BizChatService bizChatService;
 
+    @Autowired
+    private UniqueCounterService uniqueCounterService;
+
     @Operation(summary = "发送消息")
     @PostMapping("/send")
     public Result<Boolean> send(@RequestBody BizChat chat, jakarta.servlet.http.HttpServletRequest request) {
@@ -35,12 +41,15 @@ public class BizChatController {
         chat.setCreateTime(LocalDateTime.now());
         chat.setIsRead(false);
 
-        return Result.success(bizChatService.save(chat));
+        boolean saved = bizChatService.save(chat);
+        uniqueCounterService.record(UniqueCounterService.Kind.CHATTER, userId);
+        return Result.success(saved);
     }
 
     @Operation(summary = "获取聊天记录")
     @GetMapping("/history/{targetUserId}")
     public Result<List<BizChat>> history(@PathVariable Long targetUserId,
+            @RequestParam(defaultValue = "false") Boolean archived,
             jakarta.servlet.http.HttpServletRequest request) {
         Object userIdObj = request.getAttribute("userId");
         if (userIdObj == null) {
@@ -56,6 +65,10 @@ public class BizChatController {
                 .eq(BizChat::getSenderId, targetUserId).eq(BizChat::getReceiverId, userId))
                 .orderByAsc(BizChat::getCreateTime);
 
+        // 默认只查热表；archived 为 true 时查询已归档的早期消息
+        if (Boolean.TRUE.equals(archived)) {
+            return Result.success(ArchiveContext.query(() -> bizChatService.list(wrapper)));
+        }
         return Result.success(bizChatService.list(wrapper));
     }
 
@@ -115,26 +128,44 @@ public class BizChatController {
 
         bizChatService.page(chatPage, wrapper);
 
-        // Populate details (Sender, Receiver)
-        chatPage.getRecords().forEach(chat -> {
-            // Sender info
-            com.campus.entity.SysUser sender = sysUserService.getById(chat.getSenderId());
-            if (sender != null) {
-                sender.setPassword(null);
-                chat.setSender(sender);
-            }
-
-            // Receiver info
-            com.campus.entity.SysUser receiver = sysUserService.getById(chat.getReceiverId());
-            if (receiver != null) {
-                receiver.setPassword(null);
-                chat.setReceiver(receiver);
-            }
-        });
+        populateUsers(chatPage.getRecords());
 
         return Result.success(chatPage);
     }
 
+    @Operation(summary = "管理员游标分页获取聊天列表")
+    @GetMapping("/admin/cursor")
+    public Result<CursorPage<BizChat>> adminCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String keyword) {
+        LambdaQueryWrapper<BizChat> wrapper = new LambdaQueryWrapper<>();
+
+        if (cn.hutool.core.util.StrUtil.isNotBlank(keyword)) {
+            wrapper.like(BizChat::getContent, keyword);
+        }
+        CursorPage.apply(wrapper, cursor, BizChat::getCreateTime, BizChat::getId, size);
+
+        CursorPage<BizChat> chatPage = CursorPage.of(bizChatService.list(wrapper), size,
+                BizChat::getCreateTime, BizChat::getId);
+        populateUsers(chatPage.getRecords());
+        return Result.success(chatPage);
+    }
+
+    // Populate details (Sender, Receiver) with one batch query
+    private void populateUsers(List<BizChat> chats) {
+        List<Long> userIds = new java.util.ArrayList<>();
+        chats.forEach(chat -> {
+            userIds.add(chat.getSenderId());
+            userIds.add(chat.getReceiverId());
+        });
+        java.util.Map<Long, com.campus.entity.SysUser> userMap = sysUserService.mapByIds(userIds);
+        chats.forEach(chat -> {
+            chat.setSender(userMap.get(chat.getSenderId()));
+            chat.setReceiver(userMap.get(chat.getReceiverId()));
+        });
+    }
+
     @Operation(summary = "管理员删除聊天记录")
     @DeleteMapping("/admin/{id}")
     public Result<Boolean> adminRemove(@PathVariable Long id) {
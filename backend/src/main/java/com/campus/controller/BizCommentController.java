@@ -5,6 +5,7 @@ import com.campus.common.Result;
 import com.campus.entity.BizComment;
 import com.campus.entity.SysUser;
 import com.campus.service.BizCommentService;
+import com.campus.service.GoodsTrendingService;
 import com.campus.service.SysUserService;
 import com.campus.vo.CommentVo;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,6 +31,9 @@ public class BizCommentController {
     @Autowired
     private SysUserService sysUserService;
 
+    @Autowired
+    private GoodsTrendingService goodsTrendingService;
+
     /**
      * 获取商品留言列表
      */
@@ -42,13 +46,21 @@ public class BizCommentController {
 
         List<BizComment> comments = bizCommentService.list(wrapper);
 
+        // 一次性加载留言者和被回复者
+        List<Long> userIds = new java.util.ArrayList<>();
+        comments.forEach(comment -> {
+            userIds.add(comment.getUserId());
+            userIds.add(comment.getReplyUserId());
+        });
+        java.util.Map<Long, SysUser> userMap = sysUserService.mapByIds(userIds);
+
         // 1. Convert all to VO
         List<CommentVo> allVos = comments.stream().map(comment -> {
             CommentVo vo = new CommentVo();
             BeanUtils.copyProperties(comment, vo);
 
             // 填充留言者信息
-            SysUser user = sysUserService.getById(comment.getUserId());
+            SysUser user = userMap.get(comment.getUserId());
             if (user != null) {
                 vo.setUserNickname(user.getNickname() != null ? user.getNickname() : user.getUsername());
                 vo.setUserAvatar(user.getAvatar());
@@ -56,7 +68,7 @@ public class BizCommentController {
 
             // 填充被回复者信息
             if (comment.getReplyUserId() != null) {
-                SysUser replyUser = sysUserService.getById(comment.getReplyUserId());
+                SysUser replyUser = userMap.get(comment.getReplyUserId());
                 if (replyUser != null) {
                     vo.setReplyUserNickname(
                             replyUser.getNickname() != null ? replyUser.getNickname() : replyUser.getUsername());
@@ -110,7 +122,11 @@ public class BizCommentController {
         Long userId = Long.valueOf(userIdObj.toString());
         comment.setUserId(userId);
 
-        return Result.success(bizCommentService.save(comment));
+        boolean saved = bizCommentService.save(comment);
+        if (saved) {
+            goodsTrendingService.record(comment.getGoodsId(), GoodsTrendingService.Signal.COMMENT);
+        }
+        return Result.success(saved);
     }
 
     /**
@@ -183,16 +199,21 @@ public class BizCommentController {
         if (comments == null || comments.isEmpty())
             return;
 
+        java.util.Map<Long, SysUser> userMap = sysUserService.mapByIds(
+                comments.stream().map(BizComment::getUserId).collect(Collectors.toList()));
+        List<Long> goodsIds = comments.stream().map(BizComment::getGoodsId)
+                .filter(java.util.Objects::nonNull).distinct().collect(Collectors.toList());
+        java.util.Map<Long, com.campus.entity.BizGoods> goodsMap = goodsIds.isEmpty()
+                ? java.util.Collections.emptyMap()
+                : bizGoodsService.listByIds(goodsIds).stream()
+                        .collect(Collectors.toMap(com.campus.entity.BizGoods::getId, g -> g));
+
         for (BizComment comment : comments) {
             // User info
-            com.campus.entity.SysUser user = sysUserService.getById(comment.getUserId());
-            if (user != null) {
-                user.setPassword(null);
-                comment.setUser(user);
-            }
+            comment.setUser(userMap.get(comment.getUserId()));
 
             // Goods info
-            com.campus.entity.BizGoods goods = bizGoodsService.getById(comment.getGoodsId());
+            com.campus.entity.BizGoods goods = goodsMap.get(comment.getGoodsId());
             if (goods != null) {
                 comment.setGoods(goods);
             }
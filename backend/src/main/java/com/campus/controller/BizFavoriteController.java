@@ -3,6 +3,7 @@ package com.campus.controller;
 import com.campus.common.Result;
 import com.campus.entity.BizFavorite;
 import com.campus.service.BizFavoriteService;
+import com.campus.service.GoodsTrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ public class BizFavoriteController {
     @Autowired
     private BizFavoriteService bizFavoriteService;
 
+    @Autowired
+    private GoodsTrendingService goodsTrendingService;
+
     @Operation(summary = "获取我的收藏")
     @GetMapping("/list")
     public Result<List<BizFavorite>> list(jakarta.servlet.http.HttpServletRequest request) {
@@ -52,9 +56,11 @@ public class BizFavoriteController {
                     .eq(BizFavorite::getUserId, userId)
                     .eq(BizFavorite::getGoodsId, favorite.getGoodsId())
                     .remove();
+            goodsTrendingService.record(favorite.getGoodsId(), GoodsTrendingService.Signal.UNFAVORITE);
             return Result.success(false); // 返回false表示当前未收藏
         } else {
             bizFavoriteService.save(favorite);
+            goodsTrendingService.record(favorite.getGoodsId(), GoodsTrendingService.Signal.FAVORITE);
             return Result.success(true); // 返回true表示当前已收藏
         }
     }
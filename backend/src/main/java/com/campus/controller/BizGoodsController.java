@@ -1,9 +1,11 @@
 package com.campus.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.common.CursorPage;
 import com.campus.common.Result;
 import com.campus.entity.BizGoods;
 import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsSortIndexService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,7 @@ public class BizGoodsController {
     /**
      * 分页获取商品列表接口
      * 支持按关键词搜索和分类筛选
+     * 排序方式 sort: price_asc / price_desc / popular / newest，未指定时关键词搜索按相关度、否则按最新发布
      * 返回包含商品详细信息和卖家信息的分页结果
      */
     @Operation(summary = "分页获取商品列表") // Swagger接口文档注解，说明接口功能
@@ -31,9 +34,129 @@ public class BizGoodsController {
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) Long sellerId) {
+            @RequestParam(required = false) Long sellerId,
+            @RequestParam(required = false) String sort) {
+        GoodsSortIndexService.Sort sortType = GoodsSortIndexService.Sort.of(sort);
+        boolean hasKeyword = org.springframework.util.StringUtils.hasText(keyword);
+
+        // 无关键词的第一页直接返回内存快照
+        if (page == 1 && !hasKeyword && sellerId == null
+                && (sortType == null || sortType == GoodsSortIndexService.Sort.NEWEST)) {
+            Page<com.campus.vo.GoodsVo> snapshot = goodsFeedSnapshotService.firstPage(categoryId, size);
+            if (snapshot != null) {
+                return Result.success(snapshot);
+            }
+        }
+
+        // 关键词搜索和非默认排序走内存索引
+        Page<Long> idPage = indexedIdPage(page, size, keyword, categoryId, sellerId, sortType);
+        if (idPage != null) {
+            Page<com.campus.vo.GoodsVo> voPage = new Page<>(page, size, idPage.getTotal());
+            voPage.setRecords(loadInOrder(idPage.getRecords()));
+            return Result.success(voPage);
+        }
 
         // 构建查询条件
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = buildListQuery(
+                keyword, categoryId, sellerId);
+        if (sortType == GoodsSortIndexService.Sort.PRICE_ASC) {
+            queryWrapper.orderByAsc(BizGoods::getPrice);
+        } else if (sortType == GoodsSortIndexService.Sort.PRICE_DESC) {
+            queryWrapper.orderByDesc(BizGoods::getPrice);
+        } else if (sortType == GoodsSortIndexService.Sort.POPULAR) {
+            queryWrapper.orderByDesc(BizGoods::getViewCount);
+        }
+        queryWrapper.orderByDesc(BizGoods::getCreateTime);
+
+        Page<BizGoods> goodsPage = bizGoodsService.page(new Page<>(page, size), queryWrapper);
+
+        // 转换为 VO
+        Page<com.campus.vo.GoodsVo> voPage = new Page<>();
+        org.springframework.beans.BeanUtils.copyProperties(goodsPage, voPage);
+
+        // 批量填充卖家信息（一次查询）
+        voPage.setRecords(bizGoodsService.toGoodsVoList(goodsPage.getRecords()));
+
+        return Result.success(voPage);
+    }
+
+    /**
+     * 分页获取商品卡片接口
+     * 参数与 /list 相同，只返回列表卡片需要的字段（封面图、卖家昵称和头像），响应体积约为 /list 的四分之一
+     */
+    @Operation(summary = "分页获取商品卡片")
+    @GetMapping("/list/card")
+    public Result<com.baomidou.mybatisplus.core.metadata.IPage<com.campus.vo.GoodsCardVo>> listCards(
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long sellerId,
+            @RequestParam(required = false) String sort) {
+        GoodsSortIndexService.Sort sortType = GoodsSortIndexService.Sort.of(sort);
+        boolean hasKeyword = org.springframework.util.StringUtils.hasText(keyword);
+
+        if (page == 1 && !hasKeyword && sellerId == null
+                && (sortType == null || sortType == GoodsSortIndexService.Sort.NEWEST)) {
+            Page<com.campus.vo.GoodsVo> snapshot = goodsFeedSnapshotService.firstPage(categoryId, size);
+            if (snapshot != null) {
+                Page<com.campus.vo.GoodsCardVo> cardPage = new Page<>(1, size, snapshot.getTotal());
+                cardPage.setRecords(snapshot.getRecords().stream().map(bizGoodsService::toCard)
+                        .collect(java.util.stream.Collectors.toList()));
+                return Result.success(cardPage);
+            }
+        }
+
+        Page<Long> idPage = indexedIdPage(page, size, keyword, categoryId, sellerId, sortType);
+        if (idPage != null) {
+            Page<com.campus.vo.GoodsCardVo> cardPage = new Page<>(page, size, idPage.getTotal());
+            cardPage.setRecords(bizGoodsService.listCardsInOrder(idPage.getRecords()));
+            return Result.success(cardPage);
+        }
+
+        return Result.success(bizGoodsService.cardPage(new Page<>(page, size), keyword, categoryId, sellerId,
+                sortType == null ? null : sortType.getValue()));
+    }
+
+    /**
+     * 游标分页获取商品列表接口
+     * 按发布时间倒序，不统计总数，适用于无限滚动
+     */
+    @Operation(summary = "游标分页获取商品列表")
+    @GetMapping("/list/cursor")
+    public Result<CursorPage<com.campus.vo.GoodsVo>> listByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long sellerId) {
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = buildListQuery(
+                keyword, categoryId, sellerId);
+        CursorPage.apply(queryWrapper, cursor, BizGoods::getCreateTime, BizGoods::getId, size);
+
+        CursorPage<BizGoods> goodsPage = CursorPage.of(bizGoodsService.list(queryWrapper), size,
+                BizGoods::getCreateTime, BizGoods::getId);
+        return Result.success(goodsPage.convert(bizGoodsService::toGoodsVoList));
+    }
+
+    /**
+     * 商品分面统计接口
+     * 返回当前筛选条件下各分类、价格区间、交易方式的在售商品数，供搜索结果页的筛选面板使用
+     */
+    @Operation(summary = "商品分面统计")
+    @GetMapping("/facets")
+    public Result<com.campus.vo.GoodsFacetVo> facets(@RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) java.math.BigDecimal minPrice,
+            @RequestParam(required = false) java.math.BigDecimal maxPrice,
+            @RequestParam(required = false) Integer deliveryType) {
+        return Result.success(goodsFacetService.facets(keyword, categoryId, minPrice, maxPrice, deliveryType));
+    }
+
+    /**
+     * 构建前台商品列表查询条件（仅在售）
+     */
+    private com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> buildListQuery(
+            String keyword, Long categoryId, Long sellerId) {
         com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
         queryWrapper.eq(BizGoods::getIsDeleted, 0)
                 .eq(BizGoods::getStatus, 0); // 只显示在售
@@ -50,34 +173,160 @@ public class BizGoodsController {
         if (sellerId != null) {
             queryWrapper.eq(BizGoods::getSellerId, sellerId);
         }
+        return queryWrapper;
+    }
 
-        queryWrapper.orderByDesc(BizGoods::getCreateTime);
+    @Autowired
+    private com.campus.service.SysUserService sysUserService;
 
-        Page<BizGoods> goodsPage = bizGoodsService.page(new Page<>(page, size), queryWrapper);
+    @Autowired
+    private com.campus.service.GoodsSearchService goodsSearchService;
 
-        // 转换为 VO
-        Page<com.campus.vo.GoodsVo> voPage = new Page<>();
-        org.springframework.beans.BeanUtils.copyProperties(goodsPage, voPage);
+    @Autowired
+    private com.campus.service.GoodsViewCountService goodsViewCountService;
 
-        java.util.List<com.campus.vo.GoodsVo> voList = goodsPage.getRecords().stream().map(goods -> {
-            com.campus.vo.GoodsVo vo = new com.campus.vo.GoodsVo();
-            org.springframework.beans.BeanUtils.copyProperties(goods, vo);
+    @Autowired
+    private com.campus.service.GoodsDetailCacheService goodsDetailCacheService;
+
+    @Autowired
+    private com.campus.service.GoodsFeedSnapshotService goodsFeedSnapshotService;
 
-            // 填充卖家信息
-            com.campus.entity.SysUser seller = sysUserService.getById(goods.getSellerId());
-            if (seller != null) {
-                seller.setPassword(null); // 脱敏
-                vo.setSeller(seller);
+    @Autowired
+    private com.campus.service.GoodsFacetService goodsFacetService;
+
+    @Autowired
+    private GoodsSortIndexService goodsSortIndexService;
+
+    @Autowired
+    private com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+
+    @Autowired
+    private com.campus.service.GoodsTrendingService goodsTrendingService;
+
+    @Autowired
+    private com.campus.service.GoodsSimilarService goodsSimilarService;
+
+    @Autowired
+    private com.campus.service.GoodsDuplicateService goodsDuplicateService;
+
+    @Autowired
+    private com.campus.service.UniqueCounterService uniqueCounterService;
+
+    @Autowired
+    private com.campus.common.JwtUtils jwtUtils;
+
+    @Autowired
+    private com.campus.service.DashboardStreamService dashboardStreamService;
+
+    /**
+     * 单次批量发布的商品数上限
+     */
+    @org.springframework.beans.factory.annotation.Value("${goods.import.max-items:10000}")
+    private int importMaxItems;
+
+    /**
+     * 通过内存索引计算一页商品ID：关键词走倒排索引（默认按相关度），非默认排序走有序索引
+     *
+     * @return 本页ID及总数；索引无法处理时返回 null，调用方回退到数据库查询
+     */
+    private Page<Long> indexedIdPage(Integer page, Integer size, String keyword, Long categoryId, Long sellerId,
+            GoodsSortIndexService.Sort sortType) {
+        if (org.springframework.util.StringUtils.hasText(keyword)) {
+            java.util.List<Long> hitIds = goodsSearchService.search(keyword, categoryId, sellerId);
+            if (hitIds == null) {
+                return null;
+            }
+            if (sortType != null) {
+                hitIds = goodsSortIndexService.sort(hitIds, sortType);
             }
-            return vo;
-        }).collect(java.util.stream.Collectors.toList());
-        voPage.setRecords(voList);
+            int from = (int) Math.min(Math.max((long) (page - 1) * size, 0), hitIds.size());
+            int to = (int) Math.min((long) from + size, hitIds.size());
+            Page<Long> idPage = new Page<>(page, size, hitIds.size());
+            idPage.setRecords(new java.util.ArrayList<>(hitIds.subList(from, to)));
+            return idPage;
+        }
+        if (sellerId == null && sortType != null) {
+            return goodsSortIndexService.page(sortType, categoryId, page, size);
+        }
+        return null;
+    }
 
-        return Result.success(voPage);
+    /**
+     * 批量加载商品并按给定ID顺序返回 VO
+     */
+    private java.util.List<com.campus.vo.GoodsVo> loadInOrder(java.util.List<Long> pageIds) {
+        if (pageIds.isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
+
+        java.util.Map<Long, BizGoods> goodsMap = bizGoodsService.listByIds(pageIds).stream()
+                .collect(java.util.stream.Collectors.toMap(BizGoods::getId, g -> g));
+        java.util.List<BizGoods> ordered = pageIds.stream()
+                .map(goodsMap::get)
+                .filter(java.util.Objects::nonNull)
+                .collect(java.util.stream.Collectors.toList());
+        return bizGoodsService.toGoodsVoList(ordered);
     }
 
-    @Autowired
-    private com.campus.service.SysUserService sysUserService;
+    /**
+     * 获取热门商品接口
+     * 按浏览、收藏、留言的时间衰减热度排序，商品信息从详情缓存读取
+     *
+     * @param categoryId 分类ID，为空表示全站
+     * @param size       条数，最多 50
+     */
+    @Operation(summary = "获取热门商品")
+    @GetMapping("/trending")
+    public Result<java.util.List<com.campus.vo.GoodsVo>> trending(@RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return Result.success(loadFromDetailCache(
+                goodsTrendingService.top(categoryId, Math.min(Math.max(size, 1), 50))));
+    }
+
+    /**
+     * 获取相似商品接口
+     * 读取离线计算好的相似商品（收藏共现 + 同分类标题相似），只返回仍在售的商品
+     *
+     * @param id   商品ID
+     * @param size 条数，最多 20
+     */
+    @Operation(summary = "获取相似商品")
+    @GetMapping("/similar/{id}")
+    public Result<java.util.List<com.campus.vo.GoodsVo>> similar(@PathVariable Long id,
+            @RequestParam(defaultValue = "10") Integer size) {
+        return Result.success(loadFromDetailCache(
+                goodsSimilarService.similar(id, Math.min(Math.max(size, 1), 20))));
+    }
+
+    /**
+     * 从 Authorization 头解析用户ID，用于无需登录的接口；未携带或无效时返回 null
+     */
+    private Long optionalUserId(jakarta.servlet.http.HttpServletRequest request) {
+        String token = request.getHeader("Authorization");
+        if (!org.springframework.util.StringUtils.hasLength(token) || !jwtUtils.validateToken(token)) {
+            return null;
+        }
+        Object userId = jwtUtils.getClaimsByToken(token).get("userId");
+        return userId == null ? null : Long.valueOf(userId.toString());
+    }
+
+    /**
+     * 按给定ID顺序从详情缓存组装商品 VO，跳过已不存在或不在售的商品
+     */
+    private java.util.List<com.campus.vo.GoodsVo> loadFromDetailCache(java.util.List<Long> goodsIds) {
+        java.util.List<com.campus.vo.GoodsVo> voList = new java.util.ArrayList<>(goodsIds.size());
+        for (Long goodsId : goodsIds) {
+            com.campus.vo.GoodsDetailVo detail = goodsDetailCacheService.getDetail(goodsId);
+            if (detail == null || !Integer.valueOf(0).equals(detail.getGoods().getStatus())) {
+                continue;
+            }
+            com.campus.vo.GoodsVo vo = new com.campus.vo.GoodsVo();
+            org.springframework.beans.BeanUtils.copyProperties(detail.getGoods(), vo);
+            vo.setSeller(detail.getSeller());
+            voList.add(vo);
+        }
+        return voList;
+    }
 
     /**
      * 获取商品详情接口
@@ -88,26 +337,26 @@ public class BizGoodsController {
      */
     @Operation(summary = "获取商品详情")
     @GetMapping("/detail/{id}")
-    public Result<java.util.Map<String, Object>> getById(@PathVariable Long id) {
-        // 根据ID查询商品信息
-        BizGoods goods = bizGoodsService.getById(id);
+    public Result<java.util.Map<String, Object>> getById(@PathVariable Long id,
+            jakarta.servlet.http.HttpServletRequest request) {
+        // 从详情缓存读取商品及卖家信息，并发未命中只会查询一次数据库
+        com.campus.vo.GoodsDetailVo detail = goodsDetailCacheService.getDetail(id);
         // 如果商品不存在，返回错误信息
-        if (goods == null) {
+        if (detail == null) {
             return Result.error("商品不存在");
         }
+        BizGoods goods = detail.getGoods();
 
-        // 增加浏览量
-        // 如果浏览量为空则设为1，否则在原有基础上加1
-        goods.setViewCount(goods.getViewCount() == null ? 1 : goods.getViewCount() + 1);
-        // 更新商品信息（主要是更新浏览量）
-        bizGoodsService.updateById(goods);
+        // 增加浏览量：只累加内存计数器，由后台批量落库
+        goodsViewCountService.increment(id);
+        goodsTrendingService.record(id, com.campus.service.GoodsTrendingService.Signal.VIEW);
+        // 详情接口无需登录，携带有效 Token 时计入去重浏览用户
+        uniqueCounterService.recordGoodsViewer(id, optionalUserId(request));
+        // 详情中的浏览量已包含未落库增量，这里补上本次浏览
+        goods.setViewCount(goods.getViewCount() + 1);
 
-        // 根据卖家ID查询卖家信息
-        com.campus.entity.SysUser seller = sysUserService.getById(goods.getSellerId());
-        // 脱敏处理，隐藏密码信息
-        if (seller != null) {
-            seller.setPassword(null);
-        }
+        // 卖家信息已脱敏
+        com.campus.entity.SysUser seller = detail.getSeller();
 
         // 构造返回结果Map
         java.util.Map<String, Object> map = new java.util.HashMap<>();
@@ -148,6 +397,26 @@ public class BizGoodsController {
         return Result.success(bizGoodsService.page(new Page<>(page, size), queryWrapper));
     }
 
+    @Operation(summary = "游标分页获取我的发布的商品")
+    @GetMapping("/my/cursor")
+    public Result<CursorPage<BizGoods>> myGoodsByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            jakarta.servlet.http.HttpServletRequest request) {
+        Object userIdObj = request.getAttribute("userId");
+        if (userIdObj == null) {
+            return Result.error("未登录");
+        }
+        Long userId = Long.valueOf(userIdObj.toString());
+
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
+        queryWrapper.eq(BizGoods::getSellerId, userId)
+                .eq(BizGoods::getIsDeleted, 0);
+        CursorPage.apply(queryWrapper, cursor, BizGoods::getCreateTime, BizGoods::getId, size);
+
+        return Result.success(CursorPage.of(bizGoodsService.list(queryWrapper), size,
+                BizGoods::getCreateTime, BizGoods::getId));
+    }
+
     /**
      * 发布/修改商品接口
      * 该接口用于商家发布新商品或修改已有商品信息
@@ -178,7 +447,85 @@ public class BizGoodsController {
             }
         }
 
-        return Result.success(bizGoodsService.saveOrUpdate(goods));
+        // 同一卖家重复发布近似相同的商品直接拒绝
+        Long duplicateId = goodsDuplicateService.findSameSellerDuplicate(userId, goods.getId(),
+                goodsDuplicateService.fingerprint(goods.getTitle(), goods.getDescription()));
+        if (duplicateId != null) {
+            return Result.error("已发布过相同的商品（ID: " + duplicateId + "），请勿重复发布");
+        }
+
+        boolean isNew = goods.getId() == null;
+        boolean saved = bizGoodsService.saveOrUpdate(goods);
+        if (saved) {
+            bizGoodsService.fireChanged(java.util.List.of(goods.getId()));
+            if (isNew) {
+                dashboardStreamService.goodsPublished(goods.getCategoryId(), 1);
+            }
+        }
+        return Result.success(saved);
+    }
+
+    /**
+     * 批量发布商品接口
+     * 请求体可以是 JSON 数组，也可以是 NDJSON（Content-Type: application/x-ndjson，每行一个商品，逐行流式解析）
+     * 校验失败或无法解析的条目不影响其他条目，返回与请求顺序一致的逐条结果
+     *
+     * @param request HTTP请求对象，用于读取请求体和获取当前用户
+     * @return 逐条发布结果
+     */
+    @Operation(summary = "批量发布商品")
+    @PostMapping(value = "/batch-publish", consumes = { "application/json", "application/x-ndjson" })
+    public Result<java.util.List<com.campus.vo.GoodsImportResultVo>> batchPublish(
+            jakarta.servlet.http.HttpServletRequest request) throws java.io.IOException {
+        Object userIdObj = request.getAttribute("userId");
+        if (userIdObj == null) {
+            return Result.error("未登录");
+        }
+        Long userId = Long.valueOf(userIdObj.toString());
+
+        java.util.List<BizGoods> goodsList = new java.util.ArrayList<>();
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.contains("ndjson")) {
+            java.io.BufferedReader reader = request.getReader();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (goodsList.size() >= importMaxItems) {
+                    return Result.error("单次最多发布" + importMaxItems + "件商品");
+                }
+                try {
+                    goodsList.add(objectMapper.readValue(line, BizGoods.class));
+                } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                    goodsList.add(null);
+                }
+            }
+        } else {
+            try {
+                goodsList = objectMapper.readValue(request.getInputStream(),
+                        new com.fasterxml.jackson.core.type.TypeReference<java.util.List<BizGoods>>() {
+                        });
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                return Result.error("请求体必须是商品 JSON 数组");
+            }
+            if (goodsList != null && goodsList.size() > importMaxItems) {
+                return Result.error("单次最多发布" + importMaxItems + "件商品");
+            }
+        }
+        if (goodsList == null || goodsList.isEmpty()) {
+            return Result.error("没有要发布的商品");
+        }
+
+        java.util.List<com.campus.vo.GoodsImportResultVo> results = bizGoodsService.importGoods(userId, goodsList);
+        java.util.Map<Long, Integer> published = new java.util.HashMap<>();
+        for (com.campus.vo.GoodsImportResultVo result : results) {
+            if (Boolean.TRUE.equals(result.getSuccess())) {
+                published.merge(goodsList.get(result.getIndex()).getCategoryId(), 1, Integer::sum);
+            }
+        }
+        published.forEach(dashboardStreamService::goodsPublished);
+        return Result.success(results);
     }
 
     @Operation(summary = "管理员分页获取商品列表")
@@ -190,6 +537,44 @@ public class BizGoodsController {
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) Integer status) {
 
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = buildAdminQuery(
+                keyword, categoryId, status);
+        queryWrapper.orderByDesc(BizGoods::getCreateTime);
+
+        Page<BizGoods> goodsPage = bizGoodsService.page(new Page<>(page, size), queryWrapper);
+
+        // Convert to VO
+        Page<com.campus.vo.GoodsVo> voPage = new Page<>();
+        org.springframework.beans.BeanUtils.copyProperties(goodsPage, voPage);
+
+        // 批量填充卖家信息（一次查询）
+        voPage.setRecords(bizGoodsService.toGoodsVoList(goodsPage.getRecords()));
+
+        return Result.success(voPage);
+    }
+
+    @Operation(summary = "管理员游标分页获取商品列表")
+    @GetMapping("/admin/cursor")
+    public Result<CursorPage<com.campus.vo.GoodsVo>> adminCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer status) {
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = buildAdminQuery(
+                keyword, categoryId, status);
+        CursorPage.apply(queryWrapper, cursor, BizGoods::getCreateTime, BizGoods::getId, size);
+
+        CursorPage<BizGoods> goodsPage = CursorPage.of(bizGoodsService.list(queryWrapper), size,
+                BizGoods::getCreateTime, BizGoods::getId);
+        return Result.success(goodsPage.convert(bizGoodsService::toGoodsVoList));
+    }
+
+    /**
+     * 构建后台商品列表查询条件
+     */
+    private com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> buildAdminQuery(
+            String keyword, Long categoryId, Integer status) {
         com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizGoods> queryWrapper = new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
         queryWrapper.eq(BizGoods::getIsDeleted, 0);
 
@@ -205,34 +590,99 @@ public class BizGoodsController {
         if (status != null) {
             queryWrapper.eq(BizGoods::getStatus, status);
         }
+        return queryWrapper;
+    }
 
-        queryWrapper.orderByDesc(BizGoods::getCreateTime);
+    /**
+     * 批量下架商品接口（仅处理在售商品）
+     * 请求体指定商品ID列表，或按卖家ID、关键词筛选
+     */
+    @Operation(summary = "管理员批量下架商品")
+    @PostMapping("/admin/batch/delist")
+    public Result<Integer> adminBatchDelist(@RequestBody com.campus.vo.GoodsBatchModerationVo target) {
+        return Result.success(bizGoodsService.batchUpdateStatus(target, 0, 3));
+    }
 
-        Page<BizGoods> goodsPage = bizGoodsService.page(new Page<>(page, size), queryWrapper);
+    /**
+     * 批量重新上架商品接口（仅处理已下架商品）
+     */
+    @Operation(summary = "管理员批量上架商品")
+    @PostMapping("/admin/batch/relist")
+    public Result<Integer> adminBatchRelist(@RequestBody com.campus.vo.GoodsBatchModerationVo target) {
+        return Result.success(bizGoodsService.batchUpdateStatus(target, 3, 0));
+    }
 
-        // Convert to VO
-        Page<com.campus.vo.GoodsVo> voPage = new Page<>();
-        org.springframework.beans.BeanUtils.copyProperties(goodsPage, voPage);
+    /**
+     * 批量删除商品接口
+     */
+    @Operation(summary = "管理员批量删除商品")
+    @PostMapping("/admin/batch/delete")
+    public Result<Integer> adminBatchDelete(@RequestBody com.campus.vo.GoodsBatchModerationVo target) {
+        return Result.success(bizGoodsService.batchRemove(target));
+    }
 
-        java.util.List<com.campus.vo.GoodsVo> voList = goodsPage.getRecords().stream().map(goods -> {
-            com.campus.vo.GoodsVo vo = new com.campus.vo.GoodsVo();
-            org.springframework.beans.BeanUtils.copyProperties(goods, vo);
-            com.campus.entity.SysUser seller = sysUserService.getById(goods.getSellerId());
-            if (seller != null) {
-                seller.setPassword(null);
-                vo.setSeller(seller);
-            }
-            return vo;
-        }).collect(java.util.stream.Collectors.toList());
-        voPage.setRecords(voList);
+    /**
+     * 扫描重复商品接口
+     * 返回同一卖家发布的近似重复在售商品分组
+     */
+    @Operation(summary = "管理员扫描重复商品")
+    @GetMapping("/admin/duplicates")
+    public Result<java.util.List<java.util.List<Long>>> adminDuplicates() {
+        return Result.success(goodsDuplicateService.scanDuplicateGroups());
+    }
 
-        return Result.success(voPage);
+    /**
+     * 疑似跨卖家重复商品列表
+     * 不同卖家发布的近似商品不在发布时拦截，由管理员审核后决定下架或标记已处理
+     */
+    @Operation(summary = "管理员查询疑似跨卖家重复商品")
+    @GetMapping("/admin/duplicates/cross-seller")
+    public Result<Page<com.campus.entity.BizGoodsDuplicate>> adminCrossSellerDuplicates(
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Integer status) {
+        return Result.success(goodsDuplicateService.pageCrossSeller(page, size, status));
+    }
+
+    @Operation(summary = "管理员标记疑似重复已处理")
+    @PostMapping("/admin/duplicates/cross-seller/{id}/resolve")
+    public Result<Boolean> adminResolveCrossSellerDuplicate(@PathVariable Long id) {
+        return Result.success(goodsDuplicateService.resolveCrossSeller(id));
+    }
+
+    /**
+     * 清理重复商品接口
+     * 每组保留最新发布的一件，其余下架
+     *
+     * @return 下架的商品数
+     */
+    @Operation(summary = "管理员下架重复商品")
+    @PostMapping("/admin/duplicates/delist")
+    public Result<Integer> adminDelistDuplicates() {
+        java.util.List<Long> ids = new java.util.ArrayList<>();
+        for (java.util.List<Long> group : goodsDuplicateService.scanDuplicateGroups()) {
+            ids.addAll(group.subList(0, group.size() - 1));
+        }
+        if (ids.isEmpty()) {
+            return Result.success(0);
+        }
+        com.campus.vo.GoodsBatchModerationVo target = new com.campus.vo.GoodsBatchModerationVo();
+        target.setIds(ids);
+        return Result.success(bizGoodsService.batchUpdateStatus(target, 0, 3));
+    }
+
+    @Operation(summary = "商品详情缓存统计")
+    @GetMapping("/admin/cache/stats")
+    public Result<java.util.Map<String, Object>> cacheStats() {
+        return Result.success(goodsDetailCacheService.stats());
     }
 
     @Operation(summary = "管理员删除商品")
     @DeleteMapping("/admin/{id}")
     public Result<Boolean> adminRemove(@PathVariable Long id) {
-        return Result.success(bizGoodsService.removeById(id));
+        boolean removed = bizGoodsService.removeById(id);
+        bizGoodsService.fireChanged(java.util.List.of(id));
+        return Result.success(removed);
     }
 
     @Operation(summary = "管理员更新商品状态")
@@ -244,6 +694,8 @@ public class BizGoodsController {
         com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper<BizGoods> updateWrapper = new com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper<>();
         updateWrapper.eq(BizGoods::getId, goods.getId())
                 .set(BizGoods::getStatus, goods.getStatus());
-        return Result.success(bizGoodsService.update(updateWrapper));
+        boolean updated = bizGoodsService.update(updateWrapper);
+        bizGoodsService.fireChanged(java.util.List.of(goods.getId()));
+        return Result.success(updated);
     }
 }
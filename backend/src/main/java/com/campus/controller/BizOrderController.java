@@ -1,12 +1,15 @@
 package com.campus.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.common.ArchiveContext;
+import com.campus.common.CursorPage;
 import com.campus.common.Result;
 import com.campus.entity.BizOrder;
 import com.campus.service.BizOrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -49,35 +52,46 @@ public class BizOrderController {
         }
         Long buyerId = Long.valueOf(userIdObj.toString());
 
-        // 1. Check Goods
-        com.campus.entity.BizGoods goods = bizGoodsService.getById(goodsId);
-        if (goods == null) {
-            return Result.error("商品不存在");
-        }
-        if (goods.getStatus() != 0) { // 0: On Sale
-            return Result.error("商品已售出或下架");
-        }
-        if (goods.getSellerId().equals(buyerId)) {
-            return Result.error("不能购买自己的商品");
+        // 抢占商品和写入订单在同一事务中完成，提交后再通知商品缓存和索引
+        BizOrder order = bizOrderService.createOrder(buyerId, goodsId, address, remark);
+        bizGoodsService.fireChanged(java.util.List.of(goodsId));
+        if (Integer.valueOf(0).equals(order.getStatus())) {
+            orderTimeoutService.schedule(order.getId(), order.getCreateTime());
         }
+        orderSeriesService.recordCreated(order);
+        uniqueCounterService.record(com.campus.service.UniqueCounterService.Kind.BUYER, buyerId);
+        dashboardStreamService.orderCreated(order);
 
-        // 2. Create Order
-        BizOrder order = new BizOrder();
-        order.setOrderNo(cn.hutool.core.util.IdUtil.getSnowflakeNextIdStr()); // Use Hutool or UUID
-        order.setGoodsId(goodsId);
-        order.setBuyerId(buyerId);
-        order.setSellerId(goods.getSellerId());
-        order.setAmount(goods.getPrice());
-        order.setStatus(1); // 1: Completed (Simplified flow)
-        order.setRemark(remark);
+        return Result.success(order.getId());
+    }
 
-        bizOrderService.save(order);
+    @Autowired
+    private com.campus.service.OrderTimeoutService orderTimeoutService;
 
-        // 3. Update Goods Status
-        goods.setStatus(2); // 2: Sold
-        bizGoodsService.updateById(goods);
+    @Autowired
+    private com.campus.service.OrderSeriesService orderSeriesService;
 
-        return Result.success(order.getId());
+    @Autowired
+    private com.campus.service.UniqueCounterService uniqueCounterService;
+
+    @Autowired
+    private com.campus.service.DashboardStreamService dashboardStreamService;
+
+    @Operation(summary = "确认待交易订单")
+    @PostMapping("/confirm/{id}")
+    public Result<BizOrder> confirm(@PathVariable Long id, jakarta.servlet.http.HttpServletRequest request) {
+        Object userIdObj = request.getAttribute("userId");
+        if (userIdObj == null) {
+            return Result.error("未登录");
+        }
+        Long userId = Long.valueOf(userIdObj.toString());
+
+        BizOrder order = bizOrderService.confirmOrder(id, userId);
+        orderTimeoutService.cancel(id);
+        bizGoodsService.fireChanged(java.util.List.of(order.getGoodsId()));
+        orderSeriesService.recordCompleted(order);
+        dashboardStreamService.orderCompleted(order);
+        return Result.success(order);
     }
 
     @Autowired
@@ -87,6 +101,7 @@ public class BizOrderController {
     @GetMapping("/my")
     public Result<Page<BizOrder>> myOrders(@RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean archived,
             jakarta.servlet.http.HttpServletRequest request) {
         Object userIdObj = request.getAttribute("userId");
         if (userIdObj == null) {
@@ -98,42 +113,59 @@ public class BizOrderController {
         queryWrapper.eq(BizOrder::getBuyerId, userId)
                 .orderByDesc(BizOrder::getCreateTime);
 
-        Page<BizOrder> orderPage = bizOrderService.page(new Page<>(page, size), queryWrapper);
+        Page<BizOrder> orderPage = queryOrders(archived,
+                () -> bizOrderService.page(new Page<>(page, size), queryWrapper));
 
         // Populate goods and seller info
-        orderPage.getRecords().forEach(order -> {
-            com.campus.entity.BizGoods goods = bizGoodsService.getById(order.getGoodsId());
-            if (goods != null) {
-                order.setGoods(goods);
-                com.campus.entity.SysUser seller = sysUserService.getById(goods.getSellerId());
-                if (seller != null) {
-                    seller.setPassword(null);
-                    order.setSeller(seller);
-                }
-            }
-        });
+        populateForBuyer(orderPage.getRecords());
 
         return Result.success(orderPage);
     }
 
+    @Operation(summary = "游标分页获取我的订单")
+    @GetMapping("/my/cursor")
+    public Result<CursorPage<BizOrder>> myOrdersByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean archived,
+            jakarta.servlet.http.HttpServletRequest request) {
+        Object userIdObj = request.getAttribute("userId");
+        if (userIdObj == null) {
+            return Result.error("未登录");
+        }
+        Long userId = Long.valueOf(userIdObj.toString());
+
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizOrder> queryWrapper = new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
+        queryWrapper.eq(BizOrder::getBuyerId, userId);
+        CursorPage.apply(queryWrapper, cursor, BizOrder::getCreateTime, BizOrder::getId, size);
+
+        CursorPage<BizOrder> orderPage = CursorPage.of(
+                queryOrders(archived, () -> bizOrderService.list(queryWrapper)), size,
+                BizOrder::getCreateTime, BizOrder::getId);
+        populateForBuyer(orderPage.getRecords());
+        return Result.success(orderPage);
+    }
+
+    /**
+     * 买家视角：填充商品和卖家信息
+     */
+    private void populateForBuyer(java.util.List<BizOrder> orders) {
+        populateOrders(orders, true, false);
+    }
+
     @Operation(summary = "获取订单详情")
     @GetMapping("/detail/{id}")
     public Result<BizOrder> detail(@PathVariable Long id) {
+        // 先查热表，不存在时按主键查归档表
         BizOrder order = bizOrderService.getById(id);
+        if (order == null) {
+            order = ArchiveContext.query(() -> bizOrderService.getById(id));
+        }
         if (order == null) {
             return Result.error("订单不存在");
         }
 
-        // Populate goods and seller info
-        com.campus.entity.BizGoods goods = bizGoodsService.getById(order.getGoodsId());
-        if (goods != null) {
-            order.setGoods(goods);
-            com.campus.entity.SysUser seller = sysUserService.getById(goods.getSellerId());
-            if (seller != null) {
-                seller.setPassword(null);
-                order.setSeller(seller);
-            }
-        }
+        // 填充商品和卖家信息
+        populateForBuyer(java.util.List.of(order));
 
         return Result.success(order);
     }
@@ -142,6 +174,7 @@ public class BizOrderController {
     @GetMapping("/sold")
     public Result<Page<BizOrder>> mySoldOrders(@RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean archived,
             jakarta.servlet.http.HttpServletRequest request) {
         Object userIdObj = request.getAttribute("userId");
         if (userIdObj == null) {
@@ -153,42 +186,87 @@ public class BizOrderController {
         queryWrapper.eq(BizOrder::getSellerId, userId)
                 .orderByDesc(BizOrder::getCreateTime);
 
-        Page<BizOrder> orderPage = bizOrderService.page(new Page<>(page, size), queryWrapper);
+        Page<BizOrder> orderPage = queryOrders(archived,
+                () -> bizOrderService.page(new Page<>(page, size), queryWrapper));
 
         // Populate goods and buyer info
-        orderPage.getRecords().forEach(order -> {
-            com.campus.entity.BizGoods goods = bizGoodsService.getById(order.getGoodsId());
-            if (goods != null) {
-                order.setGoods(goods);
-                // Note: BizOrder entity might need a 'buyer' field or we reuse 'seller' field
-                // temporarily or add a map?
-                // Actually BizOrder has buyerId. We should probably add a 'buyer' field to
-                // BizOrder entity or just put it in a map if we were using VO.
-                // But since we are returning BizOrder entity directly (which is not ideal but
-                // consistent with current code),
-                // we might need to check if BizOrder has a buyer field.
-                // Let's check BizOrder entity first.
-            }
+        populateForSeller(orderPage.getRecords());
 
-            // Fetch buyer info
-            com.campus.entity.SysUser buyer = sysUserService.getById(order.getBuyerId());
-            if (buyer != null) {
-                buyer.setPassword(null);
-                order.setBuyer(buyer);
-            }
-        });
+        return Result.success(orderPage);
+    }
 
+    @Operation(summary = "游标分页获取我卖出的订单")
+    @GetMapping("/sold/cursor")
+    public Result<CursorPage<BizOrder>> mySoldOrdersByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean archived,
+            jakarta.servlet.http.HttpServletRequest request) {
+        Object userIdObj = request.getAttribute("userId");
+        if (userIdObj == null) {
+            return Result.error("未登录");
+        }
+        Long userId = Long.valueOf(userIdObj.toString());
+
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizOrder> queryWrapper = new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
+        queryWrapper.eq(BizOrder::getSellerId, userId);
+        CursorPage.apply(queryWrapper, cursor, BizOrder::getCreateTime, BizOrder::getId, size);
+
+        CursorPage<BizOrder> orderPage = CursorPage.of(
+                queryOrders(archived, () -> bizOrderService.list(queryWrapper)), size,
+                BizOrder::getCreateTime, BizOrder::getId);
+        populateForSeller(orderPage.getRecords());
         return Result.success(orderPage);
     }
 
+    /**
+     * 卖家视角：填充商品和买家信息
+     */
+    private void populateForSeller(java.util.List<BizOrder> orders) {
+        populateOrders(orders, false, true);
+    }
+
     @Operation(summary = "管理员分页获取订单列表")
     @GetMapping("/admin/page")
     public Result<Page<BizOrder>> adminPage(@RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean archived,
             @RequestParam(required = false) String orderNo,
             @RequestParam(required = false) Integer status) {
 
         Page<BizOrder> orderPage = new Page<>(page, size);
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizOrder> wrapper = buildAdminQuery(orderNo,
+                status);
+
+        wrapper.orderByDesc(BizOrder::getCreateTime);
+
+        queryOrders(archived, () -> bizOrderService.page(orderPage, wrapper));
+
+        // Populate details
+        populateForAdmin(orderPage.getRecords());
+
+        return Result.success(orderPage);
+    }
+
+    @Operation(summary = "管理员游标分页获取订单列表")
+    @GetMapping("/admin/cursor")
+    public Result<CursorPage<BizOrder>> adminCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") Boolean archived,
+            @RequestParam(required = false) String orderNo,
+            @RequestParam(required = false) Integer status) {
+        com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizOrder> wrapper = buildAdminQuery(orderNo,
+                status);
+        CursorPage.apply(wrapper, cursor, BizOrder::getCreateTime, BizOrder::getId, size);
+
+        CursorPage<BizOrder> orderPage = CursorPage.of(
+                queryOrders(archived, () -> bizOrderService.list(wrapper)), size,
+                BizOrder::getCreateTime, BizOrder::getId);
+        populateForAdmin(orderPage.getRecords());
+        return Result.success(orderPage);
+    }
+
+    private com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizOrder> buildAdminQuery(String orderNo,
+            Integer status) {
         com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<BizOrder> wrapper = new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
 
         if (cn.hutool.core.util.StrUtil.isNotBlank(orderNo)) {
@@ -197,35 +275,79 @@ public class BizOrderController {
         if (status != null) {
             wrapper.eq(BizOrder::getStatus, status);
         }
+        return wrapper;
+    }
 
-        wrapper.orderByDesc(BizOrder::getCreateTime);
+    /**
+     * 管理员视角：填充商品、卖家和买家信息
+     */
+    private void populateForAdmin(java.util.List<BizOrder> orders) {
+        populateOrders(orders, true, true);
+    }
 
-        bizOrderService.page(orderPage, wrapper);
+    /**
+     * 默认查询热表；archived 为 true 时同样的查询改为访问归档表（已归档的历史订单）
+     */
+    private <T> T queryOrders(Boolean archived, java.util.function.Supplier<T> query) {
+        return Boolean.TRUE.equals(archived) ? ArchiveContext.query(query) : query.get();
+    }
 
-        // Populate details
-        orderPage.getRecords().forEach(order -> {
-            // Goods info
-            com.campus.entity.BizGoods goods = bizGoodsService.getById(order.getGoodsId());
-            if (goods != null) {
-                order.setGoods(goods);
+    /**
+     * 批量填充订单关联信息：本页商品一次 listByIds，买家和卖家合并为一次用户查询
+     */
+    private void populateOrders(java.util.List<BizOrder> orders, boolean withSeller, boolean withBuyer) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        java.util.List<Long> goodsIds = orders.stream().map(BizOrder::getGoodsId)
+                .filter(java.util.Objects::nonNull).distinct().collect(java.util.stream.Collectors.toList());
+        java.util.Map<Long, com.campus.entity.BizGoods> goodsMap = goodsIds.isEmpty()
+                ? java.util.Collections.emptyMap()
+                : bizGoodsService.listByIds(goodsIds).stream()
+                        .collect(java.util.stream.Collectors.toMap(com.campus.entity.BizGoods::getId, g -> g));
+
+        java.util.List<Long> userIds = new java.util.ArrayList<>();
+        for (BizOrder order : orders) {
+            if (withSeller) {
+                userIds.add(order.getSellerId());
             }
-
-            // Seller info
-            com.campus.entity.SysUser seller = sysUserService.getById(order.getSellerId());
-            if (seller != null) {
-                seller.setPassword(null);
-                order.setSeller(seller);
+            if (withBuyer) {
+                userIds.add(order.getBuyerId());
             }
+        }
+        java.util.Map<Long, com.campus.entity.SysUser> userMap = sysUserService.mapByIds(userIds);
 
-            // Buyer info
-            com.campus.entity.SysUser buyer = sysUserService.getById(order.getBuyerId());
-            if (buyer != null) {
-                buyer.setPassword(null);
-                order.setBuyer(buyer);
+        for (BizOrder order : orders) {
+            order.setGoods(goodsMap.get(order.getGoodsId()));
+            if (withSeller) {
+                order.setSeller(userMap.get(order.getSellerId()));
+            }
+            if (withBuyer) {
+                order.setBuyer(userMap.get(order.getBuyerId()));
             }
-        });
+        }
+    }
 
-        return Result.success(orderPage);
+    /**
+     * 管理员导出订单（CSV）
+     * 查询条件与管理员订单列表一致，可按下单时间范围筛选；结果流式写出，不受订单数量限制
+     */
+    @Operation(summary = "管理员导出订单")
+    @GetMapping("/admin/export")
+    public void adminExport(@RequestParam(required = false) String orderNo,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate endDate,
+            @RequestParam(defaultValue = "false") Boolean archived,
+            jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
+        String fileName = "orders-" + java.time.LocalDateTime.now()
+                .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) + ".csv";
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+        bizOrderService.exportCsv(orderNo, status,
+                startDate == null ? null : startDate.atStartOfDay(),
+                endDate == null ? null : endDate.plusDays(1).atStartOfDay(),
+                Boolean.TRUE.equals(archived), response.getWriter());
     }
 
     @Operation(summary = "管理员删除订单")
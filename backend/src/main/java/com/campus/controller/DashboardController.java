@@ -1,30 +1,29 @@
 package com.campus.controller;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.campus.common.Result;
-import com.campus.entity.BizGoods;
-import com.campus.entity.BizOrder;
-import com.campus.entity.BizCategory;
-import com.campus.service.BizCategoryService;
-import com.campus.service.BizGoodsService;
-import com.campus.service.BizOrderService;
-import com.campus.service.SysUserService;
+import com.campus.service.DashboardService;
+import com.campus.service.DashboardStreamService;
+import com.campus.service.OrderSeriesService;
+import com.campus.service.UniqueCounterService;
 import com.campus.vo.DashboardVo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Tag(name = "控制台管理")
 @RestController
@@ -32,89 +31,85 @@ import java.util.stream.Collectors;
 public class DashboardController {
 
     @Autowired
-    private SysUserService sysUserService;
-
-    @Autowired
-    private BizGoodsService bizGoodsService;
-
-    @Autowired
-    private BizOrderService bizOrderService;
-
-    @Autowired
-    private BizCategoryService bizCategoryService;
+    private DashboardService dashboardService;
 
     @Operation(summary = "获取控制台统计数据")
     @GetMapping("/stats")
     public Result<DashboardVo> stats() {
-        DashboardVo vo = new DashboardVo();
-
-        // 1. Basic Counts
-        vo.setUserCount(sysUserService.count());
-        vo.setGoodsCount(bizGoodsService.count());
-        vo.setOrderCount(bizOrderService.count());
-
-        // 2. Total Amount (Completed orders)
-        List<BizOrder> completedOrders = bizOrderService.list(new LambdaQueryWrapper<BizOrder>()
-                .eq(BizOrder::getStatus, 1));
-        BigDecimal totalAmount = completedOrders.stream()
-                .map(BizOrder::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        vo.setTotalAmount(totalAmount);
-
-        // 3. Recent Orders (Top 5)
-        List<BizOrder> recentOrders = bizOrderService.list(new LambdaQueryWrapper<BizOrder>()
-                .orderByDesc(BizOrder::getCreateTime)
-                .last("LIMIT 5"));
-        // Populate goods info for display
-        recentOrders.forEach(order -> {
-            BizGoods goods = bizGoodsService.getById(order.getGoodsId());
-            if (goods != null) {
-                order.setGoods(goods);
-            }
-        });
-        vo.setRecentOrders(recentOrders);
-
-        // 4. Category Data (Goods distribution)
-        List<BizGoods> allGoods = bizGoodsService.list();
-        Map<Long, Long> categoryCountMap = allGoods.stream()
-                .collect(Collectors.groupingBy(BizGoods::getCategoryId, Collectors.counting()));
-
-        List<BizCategory> categories = bizCategoryService.list();
-        Map<Long, String> categoryNameMap = categories.stream()
-                .collect(Collectors.toMap(BizCategory::getId, BizCategory::getName));
-
-        List<Map<String, Object>> categoryData = new ArrayList<>();
-        categoryCountMap.forEach((catId, count) -> {
-            Map<String, Object> item = new HashMap<>();
-            item.put("name", categoryNameMap.getOrDefault(catId, "未知分类"));
-            item.put("value", count);
-            categoryData.add(item);
-        });
-        vo.setCategoryData(categoryData);
+        // 读取内存快照，快照由后台并发计算并提前刷新
+        return Result.success(dashboardService.snapshot());
+    }
 
-        // 5. Order Trend (Last 7 days)
-        LocalDate today = LocalDate.now();
-        LocalDate sevenDaysAgo = today.minusDays(6);
+    @Autowired
+    private OrderSeriesService orderSeriesService;
+
+    @Operation(summary = "查询订单数/成交额时间序列")
+    @GetMapping("/series")
+    public Result<List<Map<String, Object>>> series(@RequestParam(defaultValue = "orders") String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1d") String step) {
+        OrderSeriesService.Metric target = OrderSeriesService.Metric.of(metric);
+        if (target == null) {
+            return Result.error("不支持的指标: " + metric);
+        }
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minusDays(7) : from;
+        return Result.success(orderSeriesService.query(target, start, end, step));
+    }
 
-        List<BizOrder> last7DaysOrders = bizOrderService.list(new LambdaQueryWrapper<BizOrder>()
-                .ge(BizOrder::getCreateTime, sevenDaysAgo.atStartOfDay()));
+    @Autowired
+    private UniqueCounterService uniqueCounterService;
+
+    @Operation(summary = "获取去重用户数（浏览、下单、私聊）")
+    @GetMapping("/uniques")
+    public Result<Map<String, Object>> uniques(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", day);
+        for (UniqueCounterService.Kind kind : UniqueCounterService.Kind.values()) {
+            Map<String, Long> item = new LinkedHashMap<>();
+            item.put("daily", uniqueCounterService.count(kind, day, day));
+            item.put("weekly", uniqueCounterService.count(kind, day.minusDays(6), day));
+            result.put(kind.name().toLowerCase(), item);
+        }
+        return Result.success(result);
+    }
 
-        Map<String, Long> dateCountMap = last7DaysOrders.stream()
-                .collect(Collectors.groupingBy(
-                        o -> o.getCreateTime().toLocalDate().format(DateTimeFormatter.ofPattern("MM-dd")),
-                        Collectors.counting()));
+    @Operation(summary = "获取商品的去重浏览用户数")
+    @GetMapping("/uniques/goods/{id}")
+    public Result<Map<String, Object>> goodsUniques(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", day);
+        result.put("daily", uniqueCounterService.countGoodsViewers(id, day, day));
+        result.put("weekly", uniqueCounterService.countGoodsViewers(id, day.minusDays(6), day));
+        return Result.success(result);
+    }
 
-        List<Map<String, Object>> orderTrend = new ArrayList<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate date = sevenDaysAgo.plusDays(i);
-            String dateStr = date.format(DateTimeFormatter.ofPattern("MM-dd"));
-            Map<String, Object> item = new HashMap<>();
-            item.put("date", dateStr);
-            item.put("count", dateCountMap.getOrDefault(dateStr, 0L));
-            orderTrend.add(item);
-        }
-        vo.setOrderTrend(orderTrend);
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    /**
+     * 签发实时推送连接票据，需携带登录 Token 调用
+     */
+    @Operation(summary = "获取实时推送连接票据")
+    @PostMapping("/stream-ticket")
+    public Result<String> streamTicket() {
+        return Result.success(dashboardStreamService.issueTicket());
+    }
 
-        return Result.success(vo);
+    /**
+     * 控制台实时推送（Server-Sent Events）
+     * EventSource 无法设置请求头，通过 ticket 查询参数携带一次性票据；票据用后即失效，
+     * EventSource 自带的重连会被拒绝。客户端收到 reconnect 事件或连接出错时，
+     * 应关闭当前 EventSource，重新调用 /stream-ticket 获取票据后建立新连接
+     */
+    @Operation(summary = "订阅控制台实时增量")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStreamService.subscribe();
     }
 }
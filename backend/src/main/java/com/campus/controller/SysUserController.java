@@ -93,8 +93,9 @@ public class SysUserController {
     @Operation(summary = "新增/修改用户")
     @PostMapping("/save")
     public Result<Boolean> save(@RequestBody SysUser user) {
+        boolean isNew = user.getId() == null;
         // 如果是新增用户，检查用户名是否存在
-        if (user.getId() == null) {
+        if (isNew) {
             long count = sysUserService.lambdaQuery()
                     .eq(SysUser::getUsername, user.getUsername())
                     .count();
@@ -123,9 +124,16 @@ public class SysUserController {
                 user.setPassword(null);
             }
         }
-        return Result.success(sysUserService.saveOrUpdate(user));
+        boolean saved = sysUserService.saveOrUpdate(user);
+        if (saved && isNew) {
+            dashboardStreamService.userRegistered();
+        }
+        return Result.success(saved);
     }
 
+    @Autowired
+    private com.campus.service.DashboardStreamService dashboardStreamService;
+
     /**
      * 删除用户的接口方法
      * 通过用户ID删除指定用户
@@ -0,0 +1,56 @@
+package com.campus.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 疑似跨卖家重复商品，每对商品一条，goods_id 为较新发布的一件
+ */
+@Data
+@TableName("biz_goods_duplicate")
+public class BizGoodsDuplicate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 较新发布的商品ID
+     */
+    private Long goodsId;
+
+    /**
+     * 较新商品的卖家ID
+     */
+    private Long sellerId;
+
+    /**
+     * 与之近似的较早商品ID
+     */
+    private Long similarGoodsId;
+
+    /**
+     * 较早商品的卖家ID
+     */
+    private Long similarSellerId;
+
+    /**
+     * 状态 (0:待审核, 1:已处理)
+     */
+    private Integer status;
+
+    /**
+     * 发现时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 处理时间
+     */
+    private LocalDateTime handleTime;
+}
@@ -0,0 +1,50 @@
+package com.campus.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 每日统计汇总（由汇总任务按日期增量重算）
+ */
+@Data
+@TableName("stat_daily")
+public class StatDaily implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 统计日期
+     */
+    @TableId(type = IdType.INPUT)
+    private LocalDate statDate;
+
+    /**
+     * 当日新建订单数（含归档）
+     */
+    private Long orderCount;
+
+    /**
+     * 当日新建且已完成订单的成交额（含归档）
+     */
+    private BigDecimal gmv;
+
+    /**
+     * 当日新注册用户数
+     */
+    private Long newUsers;
+
+    /**
+     * 当日新发布商品数
+     */
+    private Long newGoods;
+
+    /**
+     * 最近一次重算时间
+     */
+    private LocalDateTime updateTime;
+}
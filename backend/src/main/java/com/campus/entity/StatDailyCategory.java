@@ -0,0 +1,32 @@
+package com.campus.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 每日分类商品汇总，主键为 (stat_date, category_id)
+ */
+@Data
+@TableName("stat_daily_category")
+public class StatDailyCategory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 统计日期
+     */
+    private LocalDate statDate;
+
+    /**
+     * 分类ID
+     */
+    private Long categoryId;
+
+    /**
+     * 当日发布且未删除的商品数
+     */
+    private Long goodsCount;
+}
@@ -0,0 +1,54 @@
+package com.campus.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 幂等键记录（多节点部署时共享）
+ */
+@Data
+@TableName("sys_idempotency_key")
+public class SysIdempotencyKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 幂等键摘要（用户、请求路径和 Idempotency-Key 的 SHA-256）
+     */
+    @TableId(type = IdType.INPUT)
+    private String idempotencyKey;
+
+    /**
+     * 响应状态码，为空表示请求仍在处理中
+     */
+    private Integer statusCode;
+
+    /**
+     * 响应 Content-Type
+     */
+    private String contentType;
+
+    /**
+     * 响应体
+     */
+    private String body;
+
+    /**
+     * 首次请求内容（查询串和请求体）的 SHA-256，重试内容不同时拒绝回放
+     */
+    private String requestHash;
+
+    /**
+     * 过期时间：处理中为处理超时时间，完成后为保留期限
+     */
+    private LocalDateTime expireTime;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
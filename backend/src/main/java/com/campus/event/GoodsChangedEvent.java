@@ -0,0 +1,38 @@
+package com.campus.event;
+
+import com.campus.entity.BizGoods;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 商品变更事件
+ * 在商品发布、修改、状态变更、删除后发布，供各内存索引/缓存增量同步
+ */
+@Getter
+public class GoodsChangedEvent {
+
+    /**
+     * 发生变更的商品ID
+     */
+    private final Set<Long> goodsIds;
+
+    /**
+     * 变更后仍存在（未逻辑删除）的商品最新数据，ID -> 商品
+     */
+    private final Map<Long, BizGoods> current;
+
+    public GoodsChangedEvent(Set<Long> goodsIds, Map<Long, BizGoods> current) {
+        this.goodsIds = Collections.unmodifiableSet(goodsIds);
+        this.current = Collections.unmodifiableMap(current);
+    }
+
+    /**
+     * 获取变更后的商品，已删除时返回 null
+     */
+    public BizGoods get(Long goodsId) {
+        return current.get(goodsId);
+    }
+}
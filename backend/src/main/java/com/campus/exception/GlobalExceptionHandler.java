@@ -2,6 +2,8 @@ package com.campus.exception;
 
 import com.campus.common.Result;
 import com.campus.common.ResultCode;
+import com.campus.config.IdempotencyFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -26,8 +28,10 @@ public class GlobalExceptionHandler {
      * 处理其他未知异常
      */
     @ExceptionHandler(Exception.class)
-    public Result<?> handleException(Exception e) {
+    public Result<?> handleException(Exception e, HttpServletRequest request) {
         log.error("系统异常", e);
+        // 未知异常多为临时故障，不保存幂等响应，允许客户端重试
+        request.setAttribute(IdempotencyFilter.SKIP_ATTRIBUTE, Boolean.TRUE);
         return Result.error(ResultCode.FAILED.getCode(), "系统繁忙，请稍后重试");
     }
 }
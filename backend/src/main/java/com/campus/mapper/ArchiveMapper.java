@@ -0,0 +1,57 @@
+package com.campus.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 冷热数据归档 Mapper
+ * 归档表与热表结构相同（CREATE TABLE ... LIKE），按主键批量复制后删除
+ */
+@Mapper
+public interface ArchiveMapper {
+
+    /**
+     * 按主键游标查询可归档的订单ID：已完成或已取消，且创建时间早于 before
+     */
+    @Select("SELECT id FROM biz_order WHERE id > #{afterId} AND status IN (1, 2) AND create_time < #{before} "
+            + "ORDER BY id LIMIT #{limit}")
+    List<Long> selectClosedOrderIds(@Param("afterId") long afterId, @Param("before") LocalDateTime before,
+            @Param("limit") int limit);
+
+    @Insert({ "<script>",
+            "INSERT IGNORE INTO biz_order_archive SELECT * FROM biz_order WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>" })
+    int copyOrders(@Param("ids") List<Long> ids);
+
+    @Delete({ "<script>",
+            "DELETE FROM biz_order WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>" })
+    int deleteOrders(@Param("ids") List<Long> ids);
+
+    /**
+     * 按主键游标查询创建时间早于 before 的私聊消息ID
+     */
+    @Select("SELECT id FROM biz_chat WHERE id > #{afterId} AND create_time < #{before} ORDER BY id LIMIT #{limit}")
+    List<Long> selectOldChatIds(@Param("afterId") long afterId, @Param("before") LocalDateTime before,
+            @Param("limit") int limit);
+
+    @Insert({ "<script>",
+            "INSERT IGNORE INTO biz_chat_archive SELECT * FROM biz_chat WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>" })
+    int copyChats(@Param("ids") List<Long> ids);
+
+    @Delete({ "<script>",
+            "DELETE FROM biz_chat WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>" })
+    int deleteChats(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,27 @@
+package com.campus.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.campus.entity.BizGoodsDuplicate;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 疑似跨卖家重复商品 Mapper
+ */
+@Mapper
+public interface BizGoodsDuplicateMapper extends BaseMapper<BizGoodsDuplicate> {
+
+    /**
+     * 批量记录疑似重复；同一对商品已有记录（包括已处理的）时忽略，不会重复提醒
+     */
+    @Insert({ "<script>",
+            "INSERT IGNORE INTO biz_goods_duplicate (goods_id, seller_id, similar_goods_id, similar_seller_id, status, create_time) VALUES",
+            "<foreach collection='records' item='r' separator=','>",
+            "(#{r.goodsId}, #{r.sellerId}, #{r.similarGoodsId}, #{r.similarSellerId}, 0, NOW())",
+            "</foreach>",
+            "</script>" })
+    int insertIgnoreBatch(@Param("records") List<BizGoodsDuplicate> records);
+}
@@ -1,12 +1,96 @@
 package com.campus.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.campus.entity.BizGoods;
+import com.campus.vo.GoodsCardVo;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 商品 Mapper
  */
 @Mapper
 public interface BizGoodsMapper extends BaseMapper<BizGoods> {
+
+    /**
+     * 批量累加浏览量，不更新 update_time
+     *
+     * @param deltas 商品ID -> 浏览量增量
+     */
+    @Update({ "<script>",
+            "UPDATE biz_goods SET view_count = IFNULL(view_count, 0) + CASE id",
+            "<foreach collection='deltas' index='goodsId' item='delta'> WHEN #{goodsId} THEN #{delta} </foreach>",
+            "END WHERE id IN",
+            "<foreach collection='deltas' index='goodsId' open='(' separator=',' close=')'>#{goodsId}</foreach>",
+            "</script>" })
+    int incrementViewCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 下单时抢占商品：仅当商品在售、未删除且不是买家自己的商品时改为目标状态
+     *
+     * @param status 抢占后的状态：1 交易中（待确认订单）或 2 已售出
+     * @return 影响行数，1 表示抢占成功
+     */
+    @Update("UPDATE biz_goods SET status = #{status}, update_time = NOW() "
+            + "WHERE id = #{goodsId} AND status = 0 AND is_deleted = 0 AND seller_id <> #{buyerId}")
+    int claimForOrder(@Param("goodsId") Long goodsId, @Param("buyerId") Long buyerId, @Param("status") Integer status);
+
+    /**
+     * 条件更新商品状态：仅当当前状态为 from 时改为 to，用于订单确认、超时释放
+     *
+     * @return 影响行数
+     */
+    @Update("UPDATE biz_goods SET status = #{to}, update_time = NOW() WHERE id = #{goodsId} AND status = #{from}")
+    int transitStatus(@Param("goodsId") Long goodsId, @Param("from") Integer from, @Param("to") Integer to);
+
+    /**
+     * 商品卡片投影列：只取列表卡片需要的字段，封面图在数据库侧从 images 中取第一张
+     */
+    String CARD_COLUMNS = "g.id, g.title, g.price, "
+            + "CASE WHEN JSON_VALID(g.images) THEN JSON_UNQUOTE(JSON_EXTRACT(g.images, '$[0]')) END AS cover_image, "
+            + "g.location, g.create_time, g.seller_id, u.nickname AS seller_nickname, u.avatar AS seller_avatar "
+            + "FROM biz_goods g LEFT JOIN sys_user u ON u.id = g.seller_id";
+
+    /**
+     * 分页查询在售商品卡片
+     *
+     * @param sort 排序方式：price_asc / price_desc / popular，其他值按发布时间倒序
+     */
+    @Select({ "<script>",
+            "SELECT " + CARD_COLUMNS,
+            "WHERE g.is_deleted = 0 AND g.status = 0",
+            "<if test='categoryId != null'> AND g.category_id = #{categoryId} </if>",
+            "<if test='sellerId != null'> AND g.seller_id = #{sellerId} </if>",
+            "<if test='keyword != null and keyword != \"\"'>",
+            " AND (g.title LIKE CONCAT('%', #{keyword}, '%') OR g.description LIKE CONCAT('%', #{keyword}, '%'))",
+            "</if>",
+            "ORDER BY",
+            "<choose>",
+            "<when test='sort == \"price_asc\"'> g.price ASC, </when>",
+            "<when test='sort == \"price_desc\"'> g.price DESC, </when>",
+            "<when test='sort == \"popular\"'> g.view_count DESC, </when>",
+            "</choose>",
+            "g.create_time DESC, g.id DESC",
+            "</script>" })
+    IPage<GoodsCardVo> selectCardPage(IPage<GoodsCardVo> page,
+            @Param("keyword") String keyword,
+            @Param("categoryId") Long categoryId,
+            @Param("sellerId") Long sellerId,
+            @Param("sort") String sort);
+
+    /**
+     * 按ID批量查询商品卡片（不保证顺序）
+     */
+    @Select({ "<script>",
+            "SELECT " + CARD_COLUMNS,
+            "WHERE g.id IN <foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>" })
+    List<GoodsCardVo> selectCardsByIds(@Param("ids") Collection<Long> ids);
 }
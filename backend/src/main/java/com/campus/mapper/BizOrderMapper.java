@@ -2,11 +2,82 @@ package com.campus.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.campus.entity.BizOrder;
+import com.campus.vo.OrderExportRow;
+import com.campus.vo.OrderSeriesRow;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 订单 Mapper
  */
 @Mapper
 public interface BizOrderMapper extends BaseMapper<BizOrder> {
+
+    /**
+     * 流式读取导出订单：联表取商品标题和买卖双方昵称，逐行回调 handler
+     * fetchSize 为 Integer.MIN_VALUE 时 MySQL 驱动逐行读取结果集，内存占用与行数无关
+     */
+    @Select({ "<script>",
+            "SELECT o.order_no, g.title AS goods_title, b.nickname AS buyer_name, s.nickname AS seller_name,",
+            "o.amount, o.status, o.remark, o.create_time, o.finish_time",
+            "FROM biz_order o",
+            "LEFT JOIN biz_goods g ON g.id = o.goods_id",
+            "LEFT JOIN sys_user b ON b.id = o.buyer_id",
+            "LEFT JOIN sys_user s ON s.id = o.seller_id",
+            "<where>",
+            "<if test='orderNo != null and orderNo != \"\"'> AND o.order_no LIKE CONCAT('%', #{orderNo}, '%') </if>",
+            "<if test='status != null'> AND o.status = #{status} </if>",
+            "<if test='startTime != null'> AND o.create_time &gt;= #{startTime} </if>",
+            "<if test='endTime != null'> AND o.create_time &lt; #{endTime} </if>",
+            "</where>",
+            "ORDER BY o.id",
+            "</script>" })
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(OrderExportRow.class)
+    void streamExportRows(@Param("orderNo") String orderNo,
+            @Param("status") Integer status,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            ResultHandler<OrderExportRow> handler);
+
+    /**
+     * 待交易订单改为已取消，已被确认或取消的订单不受影响
+     *
+     * @return 影响行数，1 表示本次取消成功
+     */
+    @Update("UPDATE biz_order SET status = 2 WHERE id = #{id} AND status = 0")
+    int cancelPending(@Param("id") Long id);
+
+    /**
+     * 待交易订单改为已完成，已超时取消的订单不受影响
+     *
+     * @return 影响行数，1 表示本次确认成功
+     */
+    @Update("UPDATE biz_order SET status = 1, finish_time = NOW() WHERE id = #{id} AND status = 0")
+    int completePending(@Param("id") Long id);
+
+    /**
+     * 按时间桶聚合订单数和成交额（热表与归档表合并），用于启动时回填内存时间序列。
+     * 成交额只计 end 之前完成的订单（下单即完成的订单没有完成时间），之后的完成由增量记录
+     *
+     * @param format DATE_FORMAT 格式串，决定桶的粒度，如 '%Y-%m-%d %H:00:00'
+     */
+    @Select({ "SELECT CAST(DATE_FORMAT(create_time, #{format}) AS DATETIME) AS bucket_time, COUNT(*) AS order_count,",
+            "SUM(CASE WHEN status = 1 AND (finish_time IS NULL OR finish_time < #{end}) THEN amount ELSE 0 END) AS gmv FROM (",
+            "SELECT create_time, status, amount, finish_time FROM biz_order WHERE create_time >= #{start} AND create_time < #{end}",
+            "UNION ALL",
+            "SELECT create_time, status, amount, finish_time FROM biz_order_archive WHERE create_time >= #{start} AND create_time < #{end}",
+            ") o GROUP BY bucket_time" })
+    List<OrderSeriesRow> selectSeriesBuckets(@Param("format") String format,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 }
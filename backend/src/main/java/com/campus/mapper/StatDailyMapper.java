@@ -0,0 +1,84 @@
+package com.campus.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.campus.entity.StatDaily;
+import com.campus.entity.StatDailyCategory;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 每日统计汇总 Mapper
+ * 汇总在数据库内用 INSERT ... SELECT ... GROUP BY 完成，明细行不进入 JVM
+ */
+@Mapper
+public interface StatDailyMapper extends BaseMapper<StatDaily> {
+
+    @Delete("DELETE FROM stat_daily WHERE stat_date >= #{from} AND stat_date < #{to}")
+    int deleteDailyRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Delete("DELETE FROM stat_daily_category WHERE stat_date >= #{from} AND stat_date < #{to}")
+    int deleteCategoryRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 按天汇总订单数和成交额，热表与归档表合并计算
+     */
+    @Insert({ "INSERT INTO stat_daily (stat_date, order_count, gmv, update_time)",
+            "SELECT DATE(create_time), COUNT(*), SUM(CASE WHEN status = 1 THEN amount ELSE 0 END), NOW() FROM (",
+            "SELECT create_time, status, amount FROM biz_order WHERE create_time >= #{start} AND create_time < #{end}",
+            "UNION ALL",
+            "SELECT create_time, status, amount FROM biz_order_archive WHERE create_time >= #{start} AND create_time < #{end}",
+            ") o GROUP BY DATE(create_time)" })
+    int insertOrderRollup(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Insert({ "INSERT INTO stat_daily (stat_date, new_users, update_time)",
+            "SELECT DATE(create_time), COUNT(*), NOW() FROM sys_user",
+            "WHERE is_deleted = 0 AND create_time >= #{start} AND create_time < #{end}",
+            "GROUP BY DATE(create_time)",
+            "ON DUPLICATE KEY UPDATE new_users = VALUES(new_users), update_time = VALUES(update_time)" })
+    int upsertUserRollup(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Insert({ "INSERT INTO stat_daily (stat_date, new_goods, update_time)",
+            "SELECT DATE(create_time), COUNT(*), NOW() FROM biz_goods",
+            "WHERE is_deleted = 0 AND create_time >= #{start} AND create_time < #{end}",
+            "GROUP BY DATE(create_time)",
+            "ON DUPLICATE KEY UPDATE new_goods = VALUES(new_goods), update_time = VALUES(update_time)" })
+    int upsertGoodsRollup(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Insert({ "INSERT INTO stat_daily_category (stat_date, category_id, goods_count)",
+            "SELECT DATE(create_time), IFNULL(category_id, 0), COUNT(*) FROM biz_goods",
+            "WHERE is_deleted = 0 AND create_time >= #{start} AND create_time < #{end}",
+            "GROUP BY DATE(create_time), IFNULL(category_id, 0)" })
+    int insertCategoryRollup(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 所有业务表中最早的创建时间，全量重建的起点
+     */
+    @Select({ "SELECT MIN(t) FROM (",
+            "SELECT MIN(create_time) AS t FROM biz_order",
+            "UNION ALL SELECT MIN(create_time) FROM biz_order_archive",
+            "UNION ALL SELECT MIN(create_time) FROM biz_goods",
+            "UNION ALL SELECT MIN(create_time) FROM sys_user",
+            ") m" })
+    LocalDateTime selectEarliestTime();
+
+    /**
+     * 全部日期累计
+     */
+    @Select("SELECT IFNULL(SUM(order_count), 0) AS order_count, IFNULL(SUM(gmv), 0) AS gmv, "
+            + "IFNULL(SUM(new_users), 0) AS new_users, IFNULL(SUM(new_goods), 0) AS new_goods FROM stat_daily")
+    StatDaily selectTotals();
+
+    /**
+     * 各分类累计商品数
+     */
+    @Select("SELECT category_id, SUM(goods_count) AS goods_count FROM stat_daily_category "
+            + "GROUP BY category_id HAVING SUM(goods_count) > 0")
+    List<StatDailyCategory> selectCategoryTotals();
+}
@@ -0,0 +1,38 @@
+package com.campus.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.campus.entity.SysIdempotencyKey;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 幂等键 Mapper
+ */
+@Mapper
+public interface SysIdempotencyKeyMapper extends BaseMapper<SysIdempotencyKey> {
+
+    /**
+     * 占用幂等键，已存在时不插入
+     *
+     * @return 1 表示占用成功
+     */
+    @Insert("INSERT IGNORE INTO sys_idempotency_key (idempotency_key, expire_time, create_time) "
+            + "VALUES (#{key}, #{expireTime}, NOW())")
+    int insertPending(@Param("key") String key, @Param("expireTime") LocalDateTime expireTime);
+
+    /**
+     * 删除已过期的记录
+     */
+    @Delete("DELETE FROM sys_idempotency_key WHERE expire_time < #{now} LIMIT 1000")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * 删除指定的已过期记录
+     */
+    @Delete("DELETE FROM sys_idempotency_key WHERE idempotency_key = #{key} AND expire_time < #{now}")
+    int deleteExpiredKey(@Param("key") String key, @Param("now") LocalDateTime now);
+}
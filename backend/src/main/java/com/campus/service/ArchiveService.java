@@ -0,0 +1,16 @@
+package com.campus.service;
+
+import java.util.Map;
+
+/**
+ * 冷热数据归档服务
+ */
+public interface ArchiveService {
+
+    /**
+     * 把超过保留期的已结束订单和私聊消息移入归档表
+     *
+     * @return 表名 -> 本次归档的行数
+     */
+    Map<String, Integer> archive();
+}
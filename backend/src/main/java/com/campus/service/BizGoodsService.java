@@ -1,10 +1,74 @@
 package com.campus.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.campus.entity.BizGoods;
+import com.campus.vo.GoodsBatchModerationVo;
+import com.campus.vo.GoodsCardVo;
+import com.campus.vo.GoodsImportResultVo;
+import com.campus.vo.GoodsVo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 商品服务接口
  */
 public interface BizGoodsService extends IService<BizGoods> {
+
+    /**
+     * 将一页商品转换为 VO，并用一次批量查询填充卖家信息
+     */
+    List<GoodsVo> toGoodsVoList(List<BizGoods> goodsList);
+
+    /**
+     * 商品写入后调用：重新加载变更的商品并发布 {@link com.campus.event.GoodsChangedEvent}
+     */
+    void fireChanged(Collection<Long> goodsIds);
+
+    /**
+     * 按ID顺序分批扫描所有在售商品，用于启动时构建内存索引
+     */
+    void scanOnSale(int batchSize, Consumer<List<BizGoods>> consumer);
+
+    /**
+     * 分页查询在售商品卡片（精简投影，单条 SQL 联表取卖家昵称和头像）
+     */
+    IPage<GoodsCardVo> cardPage(IPage<GoodsCardVo> page, String keyword, Long categoryId, Long sellerId, String sort);
+
+    /**
+     * 按给定ID顺序批量查询商品卡片
+     */
+    List<GoodsCardVo> listCardsInOrder(List<Long> goodsIds);
+
+    /**
+     * 由已填充卖家的商品 VO 生成卡片
+     */
+    GoodsCardVo toCard(GoodsVo goodsVo);
+
+    /**
+     * 批量发布商品
+     * 并行校验后按批次分事务批量插入，某一批插入失败只影响该批商品
+     *
+     * @param sellerId  卖家ID
+     * @param goodsList 待发布商品，元素为 null 表示该条数据无法解析
+     * @return 与入参一一对应的发布结果
+     */
+    List<GoodsImportResultVo> importGoods(Long sellerId, List<BizGoods> goodsList);
+
+    /**
+     * 批量修改商品状态，只处理当前状态为 fromStatus 的商品
+     * 按批次执行集合更新，完成后统一发布一次变更事件
+     *
+     * @return 实际修改的商品数
+     */
+    int batchUpdateStatus(GoodsBatchModerationVo target, int fromStatus, int toStatus);
+
+    /**
+     * 批量逻辑删除商品
+     *
+     * @return 实际删除的商品数
+     */
+    int batchRemove(GoodsBatchModerationVo target);
 }
@@ -3,8 +3,46 @@ package com.campus.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.campus.entity.BizOrder;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
 /**
  * 订单服务接口
  */
 public interface BizOrderService extends IService<BizOrder> {
+
+    /**
+     * 创建订单
+     * 在同一事务中以条件更新抢占商品并写入订单，并发下单同一商品只有一个能成功
+     *
+     * @param buyerId 买家ID
+     * @param goodsId 商品ID
+     * @param address 收货地址
+     * @param remark  备注
+     * @return 新订单
+     */
+    BizOrder createOrder(Long buyerId, Long goodsId, String address, String remark);
+
+    /**
+     * 买家或卖家确认待交易订单：订单改为已完成，商品由交易中改为已售出
+     *
+     * @return 确认后的订单
+     */
+    BizOrder confirmOrder(Long orderId, Long userId);
+
+    /**
+     * 超时取消待交易订单并释放商品，两者在同一事务中完成
+     *
+     * @return 被释放的商品ID；订单已确认或已取消时返回 null
+     */
+    Long expireOrder(Long orderId);
+
+    /**
+     * 以 CSV 格式流式导出订单，边读边写，内存占用与订单数无关
+     *
+     * @param archived 是否导出归档表中的历史订单
+     */
+    void exportCsv(String orderNo, Integer status, LocalDateTime startTime, LocalDateTime endTime, boolean archived,
+            Writer writer) throws IOException;
 }
@@ -0,0 +1,22 @@
+package com.campus.service;
+
+import com.campus.vo.DashboardVo;
+
+/**
+ * 控制台统计快照服务
+ * 各统计分块并发计算后缓存为快照，请求直接读取内存中的快照，后台在快照过期前提前刷新
+ */
+public interface DashboardService {
+
+    /**
+     * 获取当前快照，首次调用时同步计算
+     *
+     * @return 快照副本，snapshotAgeMs 为快照距今的毫秒数
+     */
+    DashboardVo snapshot();
+
+    /**
+     * 立即重新计算快照
+     */
+    void refresh();
+}
@@ -0,0 +1,52 @@
+package com.campus.service;
+
+import com.campus.entity.BizOrder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 控制台实时推送服务
+ * 写操作上报增量，按短时间窗口合并后通过 SSE 一次性推送给所有已连接的控制台
+ */
+public interface DashboardStreamService {
+
+    /**
+     * 建立推送连接，连接后先推送一次当前快照（snapshot 事件），之后推送增量（delta 事件）
+     */
+    SseEmitter subscribe();
+
+    /**
+     * 签发推送连接票据：EventSource 无法设置请求头，连接时通过 ticket 查询参数携带，
+     * 票据短时有效且只能使用一次，避免登录 Token 出现在访问日志和浏览器历史中
+     */
+    String issueTicket();
+
+    /**
+     * 核销票据
+     *
+     * @return 票据存在且未过期时返回 true，票据随即失效
+     */
+    boolean redeemTicket(String ticket);
+
+    /**
+     * 新订单；已完成的订单同时计入成交额
+     */
+    void orderCreated(BizOrder order);
+
+    /**
+     * 待交易订单确认成交，计入成交额
+     */
+    void orderCompleted(BizOrder order);
+
+    /**
+     * 新用户注册
+     */
+    void userRegistered();
+
+    /**
+     * 新发布商品
+     *
+     * @param categoryId 分类ID
+     * @param count      件数
+     */
+    void goodsPublished(Long categoryId, int count);
+}
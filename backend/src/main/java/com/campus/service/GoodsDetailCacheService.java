@@ -0,0 +1,28 @@
+package com.campus.service;
+
+import com.campus.vo.GoodsDetailVo;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 商品详情缓存服务
+ */
+public interface GoodsDetailCacheService {
+
+    /**
+     * 获取商品详情（含卖家），浏览量已合并未落库的增量；商品不存在时返回 null
+     * 返回的是副本，调用方可自由修改
+     */
+    GoodsDetailVo getDetail(Long goodsId);
+
+    /**
+     * 使缓存失效
+     */
+    void invalidate(Collection<Long> goodsIds);
+
+    /**
+     * 缓存统计指标
+     */
+    Map<String, Object> stats();
+}
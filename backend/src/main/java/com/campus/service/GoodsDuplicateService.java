@@ -0,0 +1,46 @@
+package com.campus.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.entity.BizGoodsDuplicate;
+
+import java.util.List;
+
+/**
+ * 重复商品检测服务
+ * 以标题和描述的 SimHash 指纹判断近似重复，在售商品的指纹保存在内存分段索引中
+ */
+public interface GoodsDuplicateService {
+
+    /**
+     * 计算商品指纹
+     */
+    long fingerprint(String title, String description);
+
+    /**
+     * 发布前检查：返回同一卖家已发布的近似重复在售商品ID，没有则返回 null；
+     * 其他卖家的近似重复不拦截，商品保存后记录为疑似重复，见 {@link #pageCrossSeller}
+     *
+     * @param sellerId    卖家ID
+     * @param goodsId     正在修改的商品ID（新发布为 null），不与自身比较
+     * @param fingerprint 商品指纹
+     */
+    Long findSameSellerDuplicate(Long sellerId, Long goodsId, long fingerprint);
+
+    /**
+     * 全量扫描在售商品，返回同一卖家的近似重复分组（每组按ID升序，至少两件）
+     * 利用全部 CPU 并行计算指纹和查找候选
+     */
+    List<List<Long>> scanDuplicateGroups();
+
+    /**
+     * 分页查询疑似跨卖家重复商品，按发现时间倒序
+     *
+     * @param status 状态 (0:待审核, 1:已处理)，为空查询全部
+     */
+    Page<BizGoodsDuplicate> pageCrossSeller(int page, int size, Integer status);
+
+    /**
+     * 标记疑似重复已处理；同一对商品之后不会再次记录
+     */
+    boolean resolveCrossSeller(Long id);
+}
@@ -0,0 +1,23 @@
+package com.campus.service;
+
+import com.campus.vo.GoodsFacetVo;
+
+import java.math.BigDecimal;
+
+/**
+ * 商品分面统计服务
+ */
+public interface GoodsFacetService {
+
+    /**
+     * 计算在售商品在给定筛选条件下的分类、价格区间、交易方式计数
+     *
+     * @param keyword      关键词，可为空
+     * @param categoryId   分类ID，可为空
+     * @param minPrice     最低价（含），可为空
+     * @param maxPrice     最高价（不含），可为空
+     * @param deliveryType 交易方式，可为空
+     */
+    GoodsFacetVo facets(String keyword, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+            Integer deliveryType);
+}
@@ -0,0 +1,20 @@
+package com.campus.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.vo.GoodsVo;
+
+/**
+ * 商品首页快照服务
+ * 为全站和每个分类预先计算最新在售商品的第一页（含卖家信息）
+ */
+public interface GoodsFeedSnapshotService {
+
+    /**
+     * 获取第一页快照
+     *
+     * @param categoryId 分类ID，为空表示全站
+     * @param size       每页条数
+     * @return 快照分页；超出快照容量或快照不可用时返回 null，调用方应回退到数据库查询
+     */
+    Page<GoodsVo> firstPage(Long categoryId, int size);
+}
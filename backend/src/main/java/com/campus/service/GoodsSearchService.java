@@ -0,0 +1,19 @@
+package com.campus.service;
+
+import java.util.List;
+
+/**
+ * 商品全文检索服务（内存倒排索引）
+ */
+public interface GoodsSearchService {
+
+    /**
+     * 按相关度检索在售商品
+     *
+     * @param keyword    关键词
+     * @param categoryId 分类ID，可为空
+     * @param sellerId   卖家ID，可为空
+     * @return 按相关度降序排列的商品ID；索引未就绪或关键词无法由索引处理时返回 null，调用方应回退到数据库查询
+     */
+    List<Long> search(String keyword, Long categoryId, Long sellerId);
+}
@@ -0,0 +1,20 @@
+package com.campus.service;
+
+import java.util.List;
+
+/**
+ * 相似商品推荐服务
+ * 离线计算商品两两相似度并保存每件商品的前 N 个相似商品，查询时直接读取
+ */
+public interface GoodsSimilarService {
+
+    /**
+     * 获取相似商品ID，按相似度降序；尚未计算时返回空列表
+     */
+    List<Long> similar(Long goodsId, int size);
+
+    /**
+     * 重新计算全部相似商品
+     */
+    void rebuild();
+}
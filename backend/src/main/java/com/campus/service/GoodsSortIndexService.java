@@ -0,0 +1,62 @@
+package com.campus.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.common.ResultCode;
+import com.campus.exception.ServiceException;
+
+import java.util.List;
+
+/**
+ * 商品排序索引服务
+ * 按分类维护价格、人气、发布时间的有序索引，任意排序方式下翻页都只需 O(log n + 每页条数)
+ */
+public interface GoodsSortIndexService {
+
+    /**
+     * 排序方式
+     */
+    enum Sort {
+        PRICE_ASC("price_asc"),
+        PRICE_DESC("price_desc"),
+        POPULAR("popular"),
+        NEWEST("newest");
+
+        private final String value;
+
+        Sort(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * 解析排序参数，为空时返回 null
+         */
+        public static Sort of(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            for (Sort sort : values()) {
+                if (sort.value.equalsIgnoreCase(value)) {
+                    return sort;
+                }
+            }
+            throw new ServiceException(ResultCode.VALIDATE_FAILED.getCode(), "不支持的排序方式: " + value);
+        }
+    }
+
+    /**
+     * 按排序方式分页获取在售商品ID
+     *
+     * @param categoryId 分类ID，为空表示全站
+     * @return 本页商品ID及总数；索引未就绪时返回 null
+     */
+    Page<Long> page(Sort sort, Long categoryId, int page, int size);
+
+    /**
+     * 按排序方式对给定的商品ID重新排序（用于关键词检索结果），索引中不存在的ID排在最后
+     */
+    List<Long> sort(List<Long> goodsIds, Sort sort);
+}
@@ -0,0 +1,43 @@
+package com.campus.service;
+
+import java.util.List;
+
+/**
+ * 商品热度榜服务
+ * 浏览、收藏、留言按权重累加到随时间指数衰减的热度分上，按分类维护榜单
+ */
+public interface GoodsTrendingService {
+
+    /**
+     * 热度信号及其权重
+     */
+    enum Signal {
+        VIEW(1d),
+        FAVORITE(5d),
+        UNFAVORITE(-5d),
+        COMMENT(3d);
+
+        private final double weight;
+
+        Signal(double weight) {
+            this.weight = weight;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    /**
+     * 记录一次热度信号，仅对在售商品生效
+     */
+    void record(Long goodsId, Signal signal);
+
+    /**
+     * 获取热度最高的在售商品ID
+     *
+     * @param categoryId 分类ID，为空表示全站
+     * @param size       条数
+     */
+    List<Long> top(Long categoryId, int size);
+}
@@ -0,0 +1,28 @@
+package com.campus.service;
+
+/**
+ * 商品浏览量计数服务（写后合并）
+ */
+public interface GoodsViewCountService {
+
+    /**
+     * 记录一次浏览，不阻塞、不访问数据库
+     */
+    void increment(Long goodsId);
+
+    /**
+     * 尚未写入数据库的浏览量增量
+     */
+    long pending(Long goodsId);
+
+    /**
+     * 本进程已写入数据库的累计浏览量，用于修正缓存中的浏览量；
+     * 计数器回收后重新从 0 开始，调用方发现水位回退时应重新加载
+     */
+    long flushedMark(Long goodsId);
+
+    /**
+     * 将累计的增量批量写入数据库
+     */
+    void flush();
+}
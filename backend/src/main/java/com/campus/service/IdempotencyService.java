@@ -0,0 +1,66 @@
+package com.campus.service;
+
+/**
+ * 幂等请求服务
+ * 同一幂等键的请求只执行一次，之后的重试直接返回首次的响应
+ */
+public interface IdempotencyService {
+
+    /**
+     * 保存的响应；statusCode 为空表示首次请求仍在处理中。
+     * requestHash 为首次请求内容的摘要，重试内容不同时拒绝回放
+     */
+    final class StoredResponse {
+
+        public static final StoredResponse PENDING = new StoredResponse(null, null, null, null);
+
+        private final Integer statusCode;
+        private final String contentType;
+        private final byte[] body;
+        private final String requestHash;
+
+        public StoredResponse(Integer statusCode, String contentType, byte[] body, String requestHash) {
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.body = body;
+            this.requestHash = requestHash;
+        }
+
+        public boolean isPending() {
+            return statusCode == null;
+        }
+
+        public Integer getStatusCode() {
+            return statusCode;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getRequestHash() {
+            return requestHash;
+        }
+    }
+
+    /**
+     * 尝试占用幂等键
+     *
+     * @return null 表示占用成功，调用方应执行请求；否则返回已保存的响应（可能是 PENDING）
+     */
+    StoredResponse begin(String key);
+
+    /**
+     * 请求执行完成，保存响应
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * 请求执行失败，释放幂等键以允许重试
+     */
+    void abort(String key);
+}
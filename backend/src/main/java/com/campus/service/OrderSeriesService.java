@@ -0,0 +1,61 @@
+package com.campus.service;
+
+import com.campus.entity.BizOrder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单时间序列服务
+ * 订单数和成交额按分钟、小时、天三种粒度保存在内存环形数组中，任意时间范围和步长的趋势查询不访问数据库
+ */
+public interface OrderSeriesService {
+
+    /**
+     * 指标
+     */
+    enum Metric {
+        ORDERS("orders"),
+        GMV("gmv");
+
+        private final String value;
+
+        Metric(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static Metric of(String value) {
+            for (Metric metric : values()) {
+                if (metric.value.equalsIgnoreCase(value)) {
+                    return metric;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 记录新建订单；已完成的订单同时计入成交额
+     */
+    void recordCreated(BizOrder order);
+
+    /**
+     * 记录待交易订单确认成交，成交额计入订单的下单时间
+     */
+    void recordCompleted(BizOrder order);
+
+    /**
+     * 查询时间序列
+     *
+     * @param from 起始时间（含），按步长向下对齐
+     * @param to   结束时间（不含），不晚于当前时间
+     * @param step 步长，如 1m、5m、1h、1d
+     * @return 每个点包含 time、value
+     */
+    List<Map<String, Object>> query(Metric metric, LocalDateTime from, LocalDateTime to, String step);
+}
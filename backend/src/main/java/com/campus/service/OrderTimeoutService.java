@@ -0,0 +1,22 @@
+package com.campus.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待交易订单超时服务
+ * 每个待交易订单在内存时间轮中登记一个到期时间，到期未确认则自动取消并释放商品
+ */
+public interface OrderTimeoutService {
+
+    /**
+     * 登记订单超时，到期时间为下单时间加上超时时长
+     *
+     * @param createTime 下单时间
+     */
+    void schedule(Long orderId, LocalDateTime createTime);
+
+    /**
+     * 订单已确认或已取消时撤销登记
+     */
+    void cancel(Long orderId);
+}
@@ -0,0 +1,45 @@
+package com.campus.service;
+
+import com.campus.entity.StatDaily;
+import com.campus.entity.StatDailyCategory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 控制台统计汇总服务
+ * 订单数、成交额、新用户、新商品和分类商品数按天汇总到 stat_daily / stat_daily_category，
+ * 控制台只读汇总表，读取量与历史数据量无关
+ */
+public interface StatRollupService {
+
+    /**
+     * 重算 [from, to] 闭区间内每天的汇总
+     */
+    void recompute(LocalDate from, LocalDate to);
+
+    /**
+     * 重算最近几天的汇总（订单状态变化、商品删除大多发生在近期）
+     */
+    void refreshRecent();
+
+    /**
+     * 从最早的数据开始全量重建，修正较早数据被删除造成的偏差
+     */
+    void rebuildAll();
+
+    /**
+     * 全部日期累计，orderCount/gmv/newUsers/newGoods 分别为订单总数、成交额、用户数和商品数
+     */
+    StatDaily totals();
+
+    /**
+     * [from, to] 闭区间内的每日汇总，没有数据的日期不返回
+     */
+    List<StatDaily> daily(LocalDate from, LocalDate to);
+
+    /**
+     * 各分类累计商品数
+     */
+    List<StatDailyCategory> categoryTotals();
+}
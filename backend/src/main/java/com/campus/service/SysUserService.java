@@ -3,8 +3,19 @@ package com.campus.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.campus.entity.SysUser;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * 用户服务类
  */
 public interface SysUserService extends IService<SysUser> {
+
+    /**
+     * 批量加载用户（已脱敏），用于列表页一次性填充用户信息
+     *
+     * @param ids 用户ID集合，允许重复和 null
+     * @return 用户ID -> 用户 的映射，不存在的用户不会出现在结果中
+     */
+    Map<Long, SysUser> mapByIds(Collection<Long> ids);
 }
@@ -0,0 +1,39 @@
+package com.campus.service;
+
+import java.time.LocalDate;
+
+/**
+ * 去重用户数统计服务
+ * 每天每个指标一个 HyperLogLog 草图，多天的去重数由草图合并得到，误差约 1%
+ */
+public interface UniqueCounterService {
+
+    /**
+     * 指标
+     */
+    enum Kind {
+        VIEWER,
+        BUYER,
+        CHATTER
+    }
+
+    /**
+     * 记录一次用户行为
+     */
+    void record(Kind kind, Long userId);
+
+    /**
+     * 记录用户浏览商品，同时计入全站浏览用户
+     */
+    void recordGoodsViewer(Long goodsId, Long userId);
+
+    /**
+     * [from, to] 闭区间内的去重用户数
+     */
+    long count(Kind kind, LocalDate from, LocalDate to);
+
+    /**
+     * [from, to] 闭区间内浏览过某商品的去重用户数
+     */
+    long countGoodsViewers(Long goodsId, LocalDate from, LocalDate to);
+}
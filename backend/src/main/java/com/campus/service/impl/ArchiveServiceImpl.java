@@ -0,0 +1,90 @@
+package com.campus.service.impl;
+
+import com.campus.mapper.ArchiveMapper;
+import com.campus.service.ArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 冷热数据归档服务实现
+ * 每月执行一次，按主键分批：同一事务内先复制到归档表再从热表删除，单批失败不影响已完成的批次
+ */
+@Slf4j
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+
+    @Autowired
+    private ArchiveMapper archiveMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${archive.order-retain-months:6}")
+    private int orderRetainMonths;
+
+    @Value("${archive.chat-retain-months:6}")
+    private int chatRetainMonths;
+
+    @Value("${archive.batch-size:1000}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Override
+    @Scheduled(cron = "${archive.cron:0 0 4 1 * ?}")
+    public Map<String, Integer> archive() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (!running.compareAndSet(false, true)) {
+            log.warn("归档任务正在执行，跳过本次调用");
+            return result;
+        }
+        try {
+            // 按自然月对齐，保证同一个月的数据一起归档
+            LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+            long start = System.currentTimeMillis();
+            result.put("biz_order", moveInBatches(afterId -> archiveMapper.selectClosedOrderIds(
+                    afterId, monthStart.minusMonths(orderRetainMonths), batchSize),
+                    archiveMapper::copyOrders, archiveMapper::deleteOrders));
+            result.put("biz_chat", moveInBatches(afterId -> archiveMapper.selectOldChatIds(
+                    afterId, monthStart.minusMonths(chatRetainMonths), batchSize),
+                    archiveMapper::copyChats, archiveMapper::deleteChats));
+            log.info("归档完成: {}, 耗时 {} ms", result, System.currentTimeMillis() - start);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int moveInBatches(Function<Long, List<Long>> nextIds, Function<List<Long>, Integer> copy,
+            Function<List<Long>, Integer> delete) {
+        int moved = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = nextIds.apply(afterId);
+            if (ids.isEmpty()) {
+                return moved;
+            }
+            Integer deleted = transactionTemplate.execute(status -> {
+                copy.apply(ids);
+                return delete.apply(ids);
+            });
+            moved += deleted == null ? 0 : deleted;
+            if (ids.size() < batchSize) {
+                return moved;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+}
@@ -1,14 +1,367 @@
 package com.campus.service.impl;
 
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.campus.common.ResultCode;
+import com.campus.common.SimHashIndex;
+import com.campus.entity.BizCategory;
 import com.campus.entity.BizGoods;
+import com.campus.entity.SysUser;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.exception.ServiceException;
 import com.campus.mapper.BizGoodsMapper;
+import com.campus.service.BizCategoryService;
 import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsDuplicateService;
+import com.campus.service.SysUserService;
+import com.campus.vo.GoodsBatchModerationVo;
+import com.campus.vo.GoodsCardVo;
+import com.campus.vo.GoodsImportResultVo;
+import com.campus.vo.GoodsVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Collectors;
 
 /**
  * 商品服务实现类
  */
+@Slf4j
 @Service
 public class BizGoodsServiceImpl extends ServiceImpl<BizGoodsMapper, BizGoods> implements BizGoodsService {
+
+    /**
+     * 单次 IN 查询的最大ID数量
+     */
+    private static final int ID_CHUNK_SIZE = 500;
+
+    @Autowired
+    private SysUserService sysUserService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BizCategoryService bizCategoryService;
+
+    @Autowired
+    private GoodsDuplicateService goodsDuplicateService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 批量审核单次处理的商品数上限
+     */
+    @Value("${goods.moderation.max-items:20000}")
+    private int moderationMaxItems;
+
+    /**
+     * 批量发布时每个事务插入的商品数
+     */
+    @Value("${goods.import.batch-size:500}")
+    private int importBatchSize;
+
+    @Override
+    public List<GoodsVo> toGoodsVoList(List<BizGoods> goodsList) {
+        if (goodsList == null || goodsList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 收集本页所有卖家ID，一次查询
+        Map<Long, SysUser> sellerMap = sysUserService.mapByIds(
+                goodsList.stream().map(BizGoods::getSellerId).collect(Collectors.toList()));
+
+        List<GoodsVo> voList = new ArrayList<>(goodsList.size());
+        for (BizGoods goods : goodsList) {
+            GoodsVo vo = new GoodsVo();
+            BeanUtils.copyProperties(goods, vo);
+            vo.setSeller(sellerMap.get(goods.getSellerId()));
+            voList.add(vo);
+        }
+        return voList;
+    }
+
+    @Override
+    public void fireChanged(Collection<Long> goodsIds) {
+        if (goodsIds == null || goodsIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = goodsIds.stream().filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<Long, BizGoods> current = new HashMap<>();
+        List<Long> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + ID_CHUNK_SIZE, idList.size()));
+            for (BizGoods goods : listByIds(chunk)) {
+                current.put(goods.getId(), goods);
+            }
+        }
+        eventPublisher.publishEvent(new GoodsChangedEvent(ids, current));
+    }
+
+    @Override
+    public void scanOnSale(int batchSize, Consumer<List<BizGoods>> consumer) {
+        long lastId = 0L;
+        while (true) {
+            List<BizGoods> batch = lambdaQuery()
+                    .eq(BizGoods::getStatus, 0)
+                    .gt(BizGoods::getId, lastId)
+                    .orderByAsc(BizGoods::getId)
+                    .last("LIMIT " + batchSize)
+                    .list();
+            if (batch.isEmpty()) {
+                return;
+            }
+            consumer.accept(batch);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    @Override
+    public IPage<GoodsCardVo> cardPage(IPage<GoodsCardVo> page, String keyword, Long categoryId, Long sellerId,
+            String sort) {
+        return baseMapper.selectCardPage(page, keyword, categoryId, sellerId, sort);
+    }
+
+    @Override
+    public List<GoodsCardVo> listCardsInOrder(List<Long> goodsIds) {
+        if (goodsIds == null || goodsIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, GoodsCardVo> cardMap = baseMapper.selectCardsByIds(goodsIds).stream()
+                .collect(Collectors.toMap(GoodsCardVo::getId, c -> c));
+        return goodsIds.stream().map(cardMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public GoodsCardVo toCard(GoodsVo goodsVo) {
+        GoodsCardVo card = new GoodsCardVo();
+        card.setId(goodsVo.getId());
+        card.setTitle(goodsVo.getTitle());
+        card.setPrice(goodsVo.getPrice());
+        card.setLocation(goodsVo.getLocation());
+        card.setCreateTime(goodsVo.getCreateTime());
+        card.setSellerId(goodsVo.getSellerId());
+        if (goodsVo.getImages() != null && JSONUtil.isTypeJSONArray(goodsVo.getImages())) {
+            List<String> images = JSONUtil.toList(goodsVo.getImages(), String.class);
+            card.setCoverImage(images.isEmpty() ? null : images.get(0));
+        }
+        if (goodsVo.getSeller() != null) {
+            card.setSellerNickname(goodsVo.getSeller().getNickname());
+            card.setSellerAvatar(goodsVo.getSeller().getAvatar());
+        }
+        return card;
+    }
+
+    @Override
+    public List<GoodsImportResultVo> importGoods(Long sellerId, List<BizGoods> goodsList) {
+        int n = goodsList.size();
+        GoodsImportResultVo[] results = new GoodsImportResultVo[n];
+        Set<Long> categoryIds = bizCategoryService.list().stream()
+                .map(BizCategory::getId).collect(Collectors.toSet());
+
+        // 校验和指纹计算不涉及数据库，并行执行
+        long[] fingerprints = new long[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            String error = validateForImport(goodsList.get(i), categoryIds);
+            if (error != null) {
+                results[i] = GoodsImportResultVo.fail(i, error);
+            } else {
+                fingerprints[i] = goodsDuplicateService.fingerprint(
+                        goodsList.get(i).getTitle(), goodsList.get(i).getDescription());
+            }
+        });
+
+        // 与已发布商品或本批前面的商品近似重复的条目拒绝
+        SimHashIndex batchIndex = new SimHashIndex();
+        for (int i = 0; i < n; i++) {
+            if (results[i] != null || fingerprints[i] == 0L) {
+                continue;
+            }
+            Long duplicateId = goodsDuplicateService.findSameSellerDuplicate(sellerId, null, fingerprints[i]);
+            if (duplicateId != null) {
+                results[i] = GoodsImportResultVo.fail(i, "与已发布商品重复（ID: " + duplicateId + "）");
+                continue;
+            }
+            List<Long> sameBatch = batchIndex.query(fingerprints[i], SimHashIndex.MAX_DISTANCE);
+            if (!sameBatch.isEmpty()) {
+                results[i] = GoodsImportResultVo.fail(i, "与本批第 " + sameBatch.get(0) + " 条重复");
+                continue;
+            }
+            batchIndex.add(i, fingerprints[i]);
+        }
+
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (results[i] == null) {
+                BizGoods goods = goodsList.get(i);
+                goods.setId(null);
+                goods.setSellerId(sellerId);
+                goods.setStatus(0);
+                goods.setViewCount(0);
+                goods.setIsDeleted(0);
+                // 时间由自动填充设置，不采用客户端上传的值，防止伪造发布时间置顶
+                goods.setCreateTime(null);
+                goods.setUpdateTime(null);
+                validIndexes.add(i);
+            }
+        }
+
+        // 分批插入，每批一个事务，依赖 rewriteBatchedStatements 合并为多值 INSERT
+        List<Long> insertedIds = new ArrayList<>();
+        for (int from = 0; from < validIndexes.size(); from += importBatchSize) {
+            List<Integer> chunkIndexes = validIndexes.subList(from, Math.min(from + importBatchSize, validIndexes.size()));
+            List<BizGoods> chunk = chunkIndexes.stream().map(goodsList::get).collect(Collectors.toList());
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveBatch(chunk, chunk.size()));
+                for (int index : chunkIndexes) {
+                    Long id = goodsList.get(index).getId();
+                    results[index] = GoodsImportResultVo.ok(index, id);
+                    insertedIds.add(id);
+                }
+            } catch (RuntimeException e) {
+                log.error("批量发布商品失败, sellerId={}, 本批 {} 条", sellerId, chunk.size(), e);
+                for (int index : chunkIndexes) {
+                    goodsList.get(index).setId(null);
+                    results[index] = GoodsImportResultVo.fail(index, "保存失败");
+                }
+            }
+        }
+
+        fireChanged(insertedIds);
+        return List.of(results);
+    }
+
+    /**
+     * 校验单条待发布商品
+     *
+     * @return 错误信息，校验通过返回 null
+     */
+    private String validateForImport(BizGoods goods, Set<Long> categoryIds) {
+        if (goods == null) {
+            return "数据格式错误";
+        }
+        if (!StringUtils.hasText(goods.getTitle())) {
+            return "标题不能为空";
+        }
+        if (goods.getTitle().length() > 100) {
+            return "标题不能超过100个字符";
+        }
+        if (goods.getPrice() == null || goods.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "售价不能为空且不能为负数";
+        }
+        if (goods.getOriginalPrice() != null && goods.getOriginalPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "原价不能为负数";
+        }
+        if (goods.getCategoryId() == null || !categoryIds.contains(goods.getCategoryId())) {
+            return "分类不存在";
+        }
+        if (goods.getDeliveryType() != null && (goods.getDeliveryType() < 1 || goods.getDeliveryType() > 3)) {
+            return "交易方式不正确";
+        }
+        if (StringUtils.hasText(goods.getTags()) && !JSONUtil.isTypeJSONArray(goods.getTags())) {
+            return "标签必须是JSON数组";
+        }
+        if (StringUtils.hasText(goods.getImages()) && !JSONUtil.isTypeJSONArray(goods.getImages())) {
+            return "图片必须是JSON数组";
+        }
+        return null;
+    }
+
+    @Override
+    public int batchUpdateStatus(GoodsBatchModerationVo target, int fromStatus, int toStatus) {
+        List<Long> ids = resolveModerationTargets(target, fromStatus);
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            affected += baseMapper.update(null, new LambdaUpdateWrapper<BizGoods>()
+                    .in(BizGoods::getId, chunk)
+                    .eq(BizGoods::getStatus, fromStatus)
+                    .set(BizGoods::getStatus, toStatus));
+        }
+        fireChanged(ids);
+        return affected;
+    }
+
+    @Override
+    public int batchRemove(GoodsBatchModerationVo target) {
+        List<Long> ids = resolveModerationTargets(target, null);
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            affected += baseMapper.deleteBatchIds(ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())));
+        }
+        fireChanged(ids);
+        return affected;
+    }
+
+    /**
+     * 解析批量审核的目标商品ID：显式ID直接使用，否则按筛选条件以主键游标分批查出
+     */
+    private List<Long> resolveModerationTargets(GoodsBatchModerationVo target, Integer status) {
+        if (target.getIds() != null && !target.getIds().isEmpty()) {
+            List<Long> ids = target.getIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            if (ids.size() > moderationMaxItems) {
+                throw new ServiceException(ResultCode.VALIDATE_FAILED.getCode(), "单次最多处理" + moderationMaxItems + "件商品");
+            }
+            return ids;
+        }
+        if (target.getSellerId() == null && !StringUtils.hasText(target.getKeyword())) {
+            throw new ServiceException(ResultCode.VALIDATE_FAILED.getCode(), "请指定商品ID或筛选条件");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        long lastId = 0L;
+        while (true) {
+            LambdaQueryWrapper<BizGoods> queryWrapper = new LambdaQueryWrapper<BizGoods>()
+                    .select(BizGoods::getId)
+                    .eq(target.getSellerId() != null, BizGoods::getSellerId, target.getSellerId())
+                    .eq(status != null, BizGoods::getStatus, status)
+                    .gt(BizGoods::getId, lastId)
+                    .orderByAsc(BizGoods::getId)
+                    .last("LIMIT " + ID_CHUNK_SIZE);
+            if (StringUtils.hasText(target.getKeyword())) {
+                queryWrapper.and(w -> w.like(BizGoods::getTitle, target.getKeyword())
+                        .or().like(BizGoods::getDescription, target.getKeyword()));
+            }
+            List<Long> batch = baseMapper.selectObjs(queryWrapper).stream()
+                    .map(o -> ((Number) o).longValue()).collect(Collectors.toList());
+            ids.addAll(batch);
+            if (ids.size() > moderationMaxItems) {
+                throw new ServiceException(ResultCode.VALIDATE_FAILED.getCode(),
+                        "匹配的商品超过" + moderationMaxItems + "件，请缩小筛选范围");
+            }
+            if (batch.size() < ID_CHUNK_SIZE) {
+                return ids;
+            }
+            lastId = batch.get(batch.size() - 1);
+        }
+    }
 }
@@ -1,14 +1,162 @@
 package com.campus.service.impl;
 
+import cn.hutool.core.text.csv.CsvUtil;
+import cn.hutool.core.text.csv.CsvWriter;
+import cn.hutool.core.util.IdUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.campus.common.ArchiveContext;
+import com.campus.entity.BizGoods;
 import com.campus.entity.BizOrder;
+import com.campus.exception.ServiceException;
+import com.campus.mapper.BizGoodsMapper;
 import com.campus.mapper.BizOrderMapper;
 import com.campus.service.BizOrderService;
+import com.campus.vo.OrderExportRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * 订单服务实现类
  */
 @Service
 public class BizOrderServiceImpl extends ServiceImpl<BizOrderMapper, BizOrder> implements BizOrderService {
+
+    private static final String[] EXPORT_HEADER = { "订单号", "商品", "买家", "卖家", "金额", "状态", "备注", "下单时间", "完成时间" };
+
+    private static final String[] STATUS_NAMES = { "待交易", "已完成", "已取消" };
+
+    private static final DateTimeFormatter EXPORT_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private BizGoodsMapper bizGoodsMapper;
+
+    /**
+     * 是否采用“先锁定后确认”流程：开启后新订单为待交易、商品为交易中，确认后才算成交
+     */
+    @Value("${order.reserve-enabled:false}")
+    private boolean reserveEnabled;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BizOrder createOrder(Long buyerId, Long goodsId, String address, String remark) {
+        // 先抢占商品：条件更新由数据库行锁保证同一商品只有一个事务能成功
+        if (bizGoodsMapper.claimForOrder(goodsId, buyerId, reserveEnabled ? 1 : 2) == 0) {
+            BizGoods goods = bizGoodsMapper.selectById(goodsId);
+            if (goods == null) {
+                throw new ServiceException("商品不存在");
+            }
+            if (goods.getSellerId().equals(buyerId)) {
+                throw new ServiceException("不能购买自己的商品");
+            }
+            throw new ServiceException("商品已售出或下架");
+        }
+
+        // 抢占成功后本事务持有行锁，读到的价格和卖家即为成交时的数据
+        BizGoods goods = bizGoodsMapper.selectById(goodsId);
+
+        BizOrder order = new BizOrder();
+        order.setOrderNo(IdUtil.getSnowflakeNextIdStr());
+        order.setGoodsId(goodsId);
+        order.setBuyerId(buyerId);
+        order.setSellerId(goods.getSellerId());
+        order.setAmount(goods.getPrice());
+        if (reserveEnabled) {
+            order.setStatus(0); // 0: 待交易，超时未确认自动取消
+        } else {
+            order.setStatus(1); // 1: 已完成（简化流程）
+        }
+        order.setRemark(remark);
+        save(order);
+        return order;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BizOrder confirmOrder(Long orderId, Long userId) {
+        BizOrder order = getById(orderId);
+        if (order == null) {
+            throw new ServiceException("订单不存在");
+        }
+        if (!order.getBuyerId().equals(userId) && !order.getSellerId().equals(userId)) {
+            throw new ServiceException("无权操作该订单");
+        }
+        if (baseMapper.completePending(orderId) == 0) {
+            throw new ServiceException("订单已完成或已取消");
+        }
+        bizGoodsMapper.transitStatus(order.getGoodsId(), 1, 2);
+        return getById(orderId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long expireOrder(Long orderId) {
+        // 订单取消与商品释放在同一事务中：订单已被确认或取消时条件更新不生效，商品保持原状
+        if (baseMapper.cancelPending(orderId) == 0) {
+            return null;
+        }
+        BizOrder order = getById(orderId);
+        bizGoodsMapper.transitStatus(order.getGoodsId(), 1, 0);
+        return order.getGoodsId();
+    }
+
+    @Override
+    public void exportCsv(String orderNo, Integer status, LocalDateTime startTime, LocalDateTime endTime,
+            boolean archived, Writer writer) throws IOException {
+        // UTF-8 BOM，Excel 打开时才能正确识别中文
+        writer.write('\uFEFF');
+        CsvWriter csvWriter = CsvUtil.getWriter(writer);
+        csvWriter.write(EXPORT_HEADER);
+
+        Runnable export = () -> baseMapper.streamExportRows(orderNo, status, startTime, endTime, context -> {
+            OrderExportRow row = context.getResultObject();
+            csvWriter.write(new String[] {
+                    row.getOrderNo(),
+                    safeCell(row.getGoodsTitle()),
+                    safeCell(row.getBuyerName()),
+                    safeCell(row.getSellerName()),
+                    row.getAmount() == null ? "" : row.getAmount().toPlainString(),
+                    statusName(row.getStatus()),
+                    safeCell(row.getRemark()),
+                    formatTime(row.getCreateTime()),
+                    formatTime(row.getFinishTime()) });
+        });
+        if (archived) {
+            ArchiveContext.query(() -> {
+                export.run();
+                return null;
+            });
+        } else {
+            export.run();
+        }
+        csvWriter.flush();
+    }
+
+    private static String statusName(Integer status) {
+        return status != null && status >= 0 && status < STATUS_NAMES.length ? STATUS_NAMES[status] : "";
+    }
+
+    /**
+     * 用户填写的内容以 = + - @ 或制表符、回车开头时，Excel 会当作公式执行，前面加单引号按文本显示
+     */
+    private static String safeCell(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private static String formatTime(LocalDateTime time) {
+        return time == null ? "" : time.format(EXPORT_TIME_FORMAT);
+    }
 }
@@ -0,0 +1,211 @@
+package com.campus.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.entity.BizCategory;
+import com.campus.entity.BizGoods;
+import com.campus.entity.BizOrder;
+import com.campus.entity.StatDaily;
+import com.campus.service.BizCategoryService;
+import com.campus.service.BizGoodsService;
+import com.campus.service.BizOrderService;
+import com.campus.service.DashboardService;
+import com.campus.service.StatRollupService;
+import com.campus.vo.DashboardVo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 控制台统计快照服务实现
+ * 汇总值、最近订单、分类分布、订单趋势四个分块在固定线程池中并发查询，组装后整体替换快照。
+ * 控制台被访问期间，定时任务按间隔提前刷新；长时间无人访问则停止刷新，
+ * 再次访问时先返回旧快照并在后台刷新，请求线程不等待数据库
+ */
+@Slf4j
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final DateTimeFormatter TREND_DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd");
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Autowired
+    private BizOrderService bizOrderService;
+
+    @Autowired
+    private BizCategoryService bizCategoryService;
+
+    @Autowired
+    private StatRollupService statRollupService;
+
+    @Value("${dashboard.snapshot.refresh-interval-ms:15000}")
+    private long refreshIntervalMs;
+
+    @Value("${dashboard.snapshot.idle-ms:300000}")
+    private long idleMs;
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    /**
+     * 分块查询线程池：分块数固定，线程数与之相同即可（Java 17 没有虚拟线程）
+     */
+    private final ExecutorService sectionExecutor = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-section-" + threadIndex.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile DashboardVo current;
+
+    private volatile long currentTime;
+
+    private volatile long lastAccessTime;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    @Override
+    public DashboardVo snapshot() {
+        long now = System.currentTimeMillis();
+        lastAccessTime = now;
+        DashboardVo vo = current;
+        if (vo == null) {
+            synchronized (this) {
+                if (current == null) {
+                    refresh();
+                }
+            }
+            vo = current;
+        } else if (now - currentTime > refreshIntervalMs && !refreshing.get()) {
+            // 空闲后首次访问：先返回旧快照，后台刷新
+            sectionExecutor.execute(this::refreshQuietly);
+        }
+        DashboardVo copy = new DashboardVo();
+        BeanUtils.copyProperties(vo, copy);
+        copy.setSnapshotAgeMs(Math.max(0L, now - currentTime));
+        return copy;
+    }
+
+    /**
+     * 最近有人访问控制台时提前刷新，保证快照在过期前更新
+     */
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.refresh-interval-ms:15000}")
+    public void refreshIfActive() {
+        if (current != null && System.currentTimeMillis() - lastAccessTime < idleMs) {
+            refreshQuietly();
+        }
+    }
+
+    @Override
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CompletableFuture<StatDaily> totals = CompletableFuture.supplyAsync(statRollupService::totals, sectionExecutor);
+            CompletableFuture<List<BizOrder>> recentOrders = CompletableFuture.supplyAsync(this::loadRecentOrders, sectionExecutor);
+            CompletableFuture<List<Map<String, Object>>> categoryData = CompletableFuture.supplyAsync(this::loadCategoryData, sectionExecutor);
+            CompletableFuture<List<Map<String, Object>>> orderTrend = CompletableFuture.supplyAsync(this::loadOrderTrend, sectionExecutor);
+            CompletableFuture.allOf(totals, recentOrders, categoryData, orderTrend).join();
+
+            DashboardVo vo = new DashboardVo();
+            // 订单和成交额包含已归档的历史订单
+            StatDaily sum = totals.join();
+            vo.setUserCount(sum.getNewUsers());
+            vo.setGoodsCount(sum.getNewGoods());
+            vo.setOrderCount(sum.getOrderCount());
+            vo.setTotalAmount(sum.getGmv());
+            vo.setRecentOrders(recentOrders.join());
+            vo.setCategoryData(categoryData.join());
+            vo.setOrderTrend(orderTrend.join());
+            vo.setSnapshotTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneId.systemDefault()));
+
+            currentTime = start;
+            current = vo;
+            log.debug("控制台快照刷新完成, 耗时 {} ms", System.currentTimeMillis() - start);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sectionExecutor.shutdown();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("控制台快照刷新失败，继续使用旧快照", e);
+        }
+    }
+
+    private List<BizOrder> loadRecentOrders() {
+        List<BizOrder> recentOrders = bizOrderService.list(new LambdaQueryWrapper<BizOrder>()
+                .orderByDesc(BizOrder::getCreateTime)
+                .last("LIMIT 5"));
+        if (!recentOrders.isEmpty()) {
+            Map<Long, BizGoods> goodsMap = bizGoodsService.listByIds(recentOrders.stream()
+                    .map(BizOrder::getGoodsId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(BizGoods::getId, Function.identity()));
+            recentOrders.forEach(order -> order.setGoods(goodsMap.get(order.getGoodsId())));
+        }
+        return recentOrders;
+    }
+
+    private List<Map<String, Object>> loadCategoryData() {
+        Map<Long, String> categoryNameMap = bizCategoryService.list().stream()
+                .collect(Collectors.toMap(BizCategory::getId, BizCategory::getName));
+        List<Map<String, Object>> categoryData = new ArrayList<>();
+        statRollupService.categoryTotals().forEach(row -> {
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", categoryNameMap.getOrDefault(row.getCategoryId(), "未知分类"));
+            item.put("value", row.getGoodsCount());
+            categoryData.add(item);
+        });
+        return categoryData;
+    }
+
+    private List<Map<String, Object>> loadOrderTrend() {
+        LocalDate today = LocalDate.now();
+        LocalDate sevenDaysAgo = today.minusDays(6);
+        Map<LocalDate, StatDaily> dailyMap = statRollupService.daily(sevenDaysAgo, today).stream()
+                .collect(Collectors.toMap(StatDaily::getStatDate, Function.identity()));
+
+        List<Map<String, Object>> orderTrend = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            LocalDate date = sevenDaysAgo.plusDays(i);
+            StatDaily daily = dailyMap.get(date);
+            Map<String, Object> item = new HashMap<>();
+            item.put("date", date.format(TREND_DATE_FORMAT));
+            item.put("count", daily == null || daily.getOrderCount() == null ? 0L : daily.getOrderCount());
+            item.put("amount", daily == null || daily.getGmv() == null ? BigDecimal.ZERO : daily.getGmv());
+            orderTrend.add(item);
+        }
+        return orderTrend;
+    }
+}
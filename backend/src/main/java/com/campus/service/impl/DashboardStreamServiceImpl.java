@@ -0,0 +1,287 @@
+package com.campus.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import com.campus.entity.BizCategory;
+import com.campus.entity.BizOrder;
+import com.campus.exception.ServiceException;
+import com.campus.service.BizCategoryService;
+import com.campus.service.DashboardService;
+import com.campus.service.DashboardStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 控制台实时推送服务实现
+ * 写操作只在内存中累加增量；定时任务每个窗口取出一次增量，序列化一次后发送给所有连接，
+ * 推送成本与连接数无关的部分（查询、组装、序列化）只计算一次。没有连接时直接丢弃增量。
+ * 发送是阻塞写，在独立线程上进行，慢连接不会拖住定时任务线程；上一次发送未结束时增量继续累加到下个窗口
+ */
+@Slf4j
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private BizCategoryService bizCategoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 连接到期时 reconnect 事件的内容：客户端应重新获取票据并建立新连接
+     */
+    private static final String RECONNECT_DATA = "{\"ticketPath\": \"/api/admin/dashboard/stream-ticket\"}";
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${dashboard.stream.max-clients:100}")
+    private int maxClients;
+
+    @Value("${dashboard.stream.ticket-ttl-seconds:30}")
+    private long ticketTtlSeconds;
+
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+
+    /**
+     * 连接票据 -> 过期时间（毫秒）
+     */
+    private final Map<String, Long> tickets = new ConcurrentHashMap<>();
+
+    /**
+     * 发送线程：单线程保证增量按顺序到达
+     */
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    /**
+     * 当前窗口内累加的增量，读写均在 this 上同步
+     */
+    private long newOrders;
+
+    private BigDecimal gmv = BigDecimal.ZERO;
+
+    private long newUsers;
+
+    private Map<Long, Long> categoryDelta = new HashMap<>();
+
+    private List<Long> orderIds = new ArrayList<>();
+
+    @Override
+    public SseEmitter subscribe() {
+        if (emitters.size() >= maxClients) {
+            throw new ServiceException("实时推送连接数已达上限");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> {
+            // 票据只能使用一次，浏览器自动重连会被拒绝；通知客户端重新获取票据后再连接
+            try {
+                emitter.send(SseEmitter.event().name("reconnect").data(RECONNECT_DATA, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("控制台推送连接已断开，无法发送重连通知");
+            }
+            emitter.complete();
+        });
+        emitter.onError(e -> emitters.remove(emitter));
+        // 快照与增量由同一个发送线程按顺序发出：快照发送后立即加入广播，此后排队的增量都会送达该连接
+        sendExecutor.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().name("snapshot")
+                        .data(objectMapper.writeValueAsString(dashboardService.snapshot()), MediaType.APPLICATION_JSON));
+                emitters.add(emitter);
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    @Override
+    public String issueTicket() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(expireAt -> expireAt < now);
+        String ticket = IdUtil.simpleUUID();
+        tickets.put(ticket, now + TimeUnit.SECONDS.toMillis(ticketTtlSeconds));
+        return ticket;
+    }
+
+    @Override
+    public boolean redeemTicket(String ticket) {
+        if (ticket == null) {
+            return false;
+        }
+        Long expireAt = tickets.remove(ticket);
+        return expireAt != null && expireAt >= System.currentTimeMillis();
+    }
+
+    @Override
+    public synchronized void orderCreated(BizOrder order) {
+        newOrders++;
+        orderIds.add(order.getId());
+        if (Integer.valueOf(1).equals(order.getStatus()) && order.getAmount() != null) {
+            gmv = gmv.add(order.getAmount());
+        }
+    }
+
+    @Override
+    public synchronized void orderCompleted(BizOrder order) {
+        if (order.getAmount() != null) {
+            gmv = gmv.add(order.getAmount());
+        }
+    }
+
+    @Override
+    public synchronized void userRegistered() {
+        newUsers++;
+    }
+
+    @Override
+    public synchronized void goodsPublished(Long categoryId, int count) {
+        categoryDelta.merge(categoryId == null ? 0L : categoryId, (long) count, Long::sum);
+    }
+
+    /**
+     * 合并窗口结束：取出累计的增量，交给发送线程推送给所有连接
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.coalesce-ms:1000}")
+    public void flush() {
+        if (!sending.compareAndSet(false, true)) {
+            // 上一次发送尚未结束，增量留到下个窗口合并
+            return;
+        }
+        long orders;
+        BigDecimal amount;
+        long users;
+        Map<Long, Long> categories;
+        List<Long> ids;
+        synchronized (this) {
+            if (newOrders == 0 && newUsers == 0 && gmv.signum() == 0 && categoryDelta.isEmpty()) {
+                sending.set(false);
+                return;
+            }
+            orders = newOrders;
+            amount = gmv;
+            users = newUsers;
+            categories = categoryDelta;
+            ids = orderIds;
+            newOrders = 0;
+            gmv = BigDecimal.ZERO;
+            newUsers = 0;
+            categoryDelta = new HashMap<>();
+            orderIds = new ArrayList<>();
+        }
+        if (emitters.isEmpty()) {
+            sending.set(false);
+            return;
+        }
+        sendExecutor.execute(() -> {
+            try {
+                sendDelta(orders, amount, users, categories, ids);
+            } catch (RuntimeException e) {
+                log.error("控制台增量推送失败", e);
+            } finally {
+                sending.set(false);
+            }
+        });
+    }
+
+    private void sendDelta(long orders, BigDecimal amount, long users, Map<Long, Long> categories, List<Long> ids) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("time", LocalDateTime.now());
+        delta.put("newOrders", orders);
+        delta.put("orderIds", ids);
+        delta.put("gmv", amount);
+        delta.put("newUsers", users);
+        if (!categories.isEmpty()) {
+            Map<Long, String> names = bizCategoryService.list().stream()
+                    .collect(Collectors.toMap(BizCategory::getId, BizCategory::getName));
+            List<Map<String, Object>> categoryData = new ArrayList<>();
+            categories.forEach((categoryId, count) -> {
+                Map<String, Object> item = new HashMap<>();
+                item.put("name", names.getOrDefault(categoryId, "未知分类"));
+                item.put("value", count);
+                categoryData.add(item);
+            });
+            delta.put("categoryDelta", categoryData);
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            log.error("控制台增量序列化失败", e);
+            return;
+        }
+        broadcast(() -> SseEmitter.event().name("delta").data(json, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * 定时发送注释行，及时发现已断开的连接，也防止代理因空闲断开
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        // 正在发送增量时本身就有数据流动，跳过这次心跳
+        if (emitters.isEmpty() || !sending.compareAndSet(false, true)) {
+            return;
+        }
+        sendExecutor.execute(() -> {
+            try {
+                broadcast(() -> SseEmitter.event().comment("ping"));
+            } finally {
+                sending.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * 逐个连接发送；SseEventBuilder 构建时会修改自身，每个连接使用新的 builder，数据只序列化一次
+     */
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.campus.service.impl;
+
+import com.campus.common.LocalCache;
+import com.campus.entity.BizGoods;
+import com.campus.entity.SysUser;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsDetailCacheService;
+import com.campus.service.GoodsViewCountService;
+import com.campus.service.SysUserService;
+import com.campus.vo.GoodsDetailVo;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 商品详情缓存服务实现
+ * 缓存商品+卖家，商品写入（发布、状态变更、删除、下单）时通过 {@link GoodsChangedEvent} 失效
+ */
+@Service
+public class GoodsDetailCacheServiceImpl implements GoodsDetailCacheService {
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Autowired
+    private SysUserService sysUserService;
+
+    @Autowired
+    private GoodsViewCountService goodsViewCountService;
+
+    @Value("${goods.detail-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${goods.detail-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private LocalCache<Long, Entry> cache;
+
+    /**
+     * 缓存条目：加载时的详情以及当时的浏览量落库水位
+     */
+    private static class Entry {
+        private BizGoods goods;
+        private SysUser seller;
+        private long viewMark;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new LocalCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public GoodsDetailVo getDetail(Long goodsId) {
+        Entry entry = cache.get(goodsId, this::load);
+        if (entry != null && goodsViewCountService.flushedMark(goodsId) < entry.viewMark) {
+            // 浏览计数器已回收重建，缓存时记录的水位不再可比，重新加载
+            cache.invalidate(goodsId);
+            entry = cache.get(goodsId, this::load);
+        }
+        if (entry == null) {
+            return null;
+        }
+
+        BizGoods goods = new BizGoods();
+        BeanUtils.copyProperties(entry.goods, goods);
+        // 浏览量 = 加载时的值 + 此后落库的增量 + 尚未落库的增量
+        long viewCount = (goods.getViewCount() == null ? 0 : goods.getViewCount())
+                + goodsViewCountService.flushedMark(goodsId) - entry.viewMark
+                + goodsViewCountService.pending(goodsId);
+        goods.setViewCount((int) viewCount);
+
+        GoodsDetailVo vo = new GoodsDetailVo();
+        vo.setGoods(goods);
+        vo.setSeller(entry.seller);
+        return vo;
+    }
+
+    @Override
+    public void invalidate(Collection<Long> goodsIds) {
+        goodsIds.forEach(cache::invalidate);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void onGoodsChanged(GoodsChangedEvent event) {
+        invalidate(event.getGoodsIds());
+    }
+
+    private Entry load(Long goodsId) {
+        Entry entry = new Entry();
+        entry.viewMark = goodsViewCountService.flushedMark(goodsId);
+        entry.goods = bizGoodsService.getById(goodsId);
+        if (entry.goods == null) {
+            return null;
+        }
+        SysUser seller = sysUserService.getById(entry.goods.getSellerId());
+        if (seller != null) {
+            seller.setPassword(null); // 脱敏
+        }
+        entry.seller = seller;
+        return entry;
+    }
+}
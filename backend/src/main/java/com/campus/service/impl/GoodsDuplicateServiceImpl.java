@@ -0,0 +1,288 @@
+package com.campus.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.common.SimHash;
+import com.campus.common.SimHashIndex;
+import com.campus.entity.BizGoods;
+import com.campus.entity.BizGoodsDuplicate;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.mapper.BizGoodsDuplicateMapper;
+import com.campus.mapper.BizGoodsMapper;
+import com.campus.service.GoodsDuplicateService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 重复商品检测服务实现
+ * 直接使用 Mapper 读取商品，避免与商品服务相互依赖（商品服务的批量发布会调用本服务）。
+ * 商品变更后检查其他卖家的近似在售商品，记录为疑似重复供管理员审核
+ */
+@Slf4j
+@Service
+public class GoodsDuplicateServiceImpl implements GoodsDuplicateService {
+
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private static final int FLAG_BATCH_SIZE = 500;
+
+    @Autowired
+    private BizGoodsMapper bizGoodsMapper;
+
+    @Autowired
+    private BizGoodsDuplicateMapper bizGoodsDuplicateMapper;
+
+    /**
+     * 判定为近似重复的最大海明距离，不能超过分段索引能保证查全的距离
+     */
+    @Value("${goods.dedupe.max-distance:3}")
+    private int maxDistance;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final SimHashIndex index = new SimHashIndex();
+
+    /**
+     * 在售商品ID -> 卖家ID
+     */
+    private final Map<Long, Long> sellers = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        maxDistance = Math.min(maxDistance, SimHashIndex.MAX_DISTANCE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        scanOnSale(batch -> {
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::indexGoods);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        log.info("商品指纹索引构建完成: {} 件商品, 耗时 {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onGoodsChanged(GoodsChangedEvent event) {
+        // 以商品对为键去重，同一批内互相近似的商品只记录一次
+        Map<String, BizGoodsDuplicate> flags = new LinkedHashMap<>();
+        lock.writeLock().lock();
+        try {
+            for (Long id : event.getGoodsIds()) {
+                index.remove(id);
+                sellers.remove(id);
+                BizGoods goods = event.get(id);
+                if (goods != null && Integer.valueOf(0).equals(goods.getStatus())) {
+                    long fingerprint = indexGoods(goods);
+                    if (fingerprint != 0L) {
+                        collectCrossSeller(goods.getId(), fingerprint, flags);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        saveFlags(new ArrayList<>(flags.values()));
+    }
+
+    @Override
+    public long fingerprint(String title, String description) {
+        return SimHash.of(title, description);
+    }
+
+    @Override
+    public Long findSameSellerDuplicate(Long sellerId, Long goodsId, long fingerprint) {
+        if (fingerprint == 0L) {
+            return null;
+        }
+        Long sameSeller = null;
+        lock.readLock().lock();
+        try {
+            for (Long id : index.query(fingerprint, maxDistance)) {
+                if (!id.equals(goodsId) && sellers.get(id).equals(sellerId)) {
+                    sameSeller = sameSeller == null ? id : Math.min(sameSeller, id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sameSeller;
+    }
+
+    @Override
+    public Page<BizGoodsDuplicate> pageCrossSeller(int page, int size, Integer status) {
+        return bizGoodsDuplicateMapper.selectPage(new Page<>(page, size),
+                new LambdaQueryWrapper<BizGoodsDuplicate>()
+                        .eq(status != null, BizGoodsDuplicate::getStatus, status)
+                        .orderByDesc(BizGoodsDuplicate::getId));
+    }
+
+    @Override
+    public boolean resolveCrossSeller(Long id) {
+        BizGoodsDuplicate record = new BizGoodsDuplicate();
+        record.setId(id);
+        record.setStatus(1);
+        record.setHandleTime(LocalDateTime.now());
+        return bizGoodsDuplicateMapper.updateById(record) > 0;
+    }
+
+    @Override
+    public List<List<Long>> scanDuplicateGroups() {
+        long start = System.currentTimeMillis();
+        List<BizGoods> goodsList = new ArrayList<>();
+        scanOnSale(goodsList::addAll);
+        int n = goodsList.size();
+
+        // 分词和指纹计算是主要开销，并行执行
+        long[] fingerprints = new long[n];
+        IntStream.range(0, n).parallel().forEach(i -> fingerprints[i] = SimHash.of(
+                goodsList.get(i).getTitle(), goodsList.get(i).getDescription()));
+
+        SimHashIndex scanIndex = new SimHashIndex();
+        Map<Long, Integer> positions = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (fingerprints[i] != 0L) {
+                scanIndex.add(goodsList.get(i).getId(), fingerprints[i]);
+                positions.put(goodsList.get(i).getId(), i);
+            }
+        }
+
+        // 索引建好后只读，可并行查询；只保留同一卖家的配对
+        ConcurrentLinkedQueue<int[]> pairs = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, n).parallel().forEach(i -> {
+            if (fingerprints[i] == 0L) {
+                return;
+            }
+            BizGoods goods = goodsList.get(i);
+            for (Long id : scanIndex.query(fingerprints[i], maxDistance)) {
+                int j = positions.get(id);
+                if (j > i && Objects.equals(goods.getSellerId(), goodsList.get(j).getSellerId())) {
+                    pairs.add(new int[] { i, j });
+                }
+            }
+        });
+
+        // 并查集合并为分组
+        int[] parent = IntStream.range(0, n).toArray();
+        for (int[] pair : pairs) {
+            int a = find(parent, pair[0]);
+            int b = find(parent, pair[1]);
+            if (a != b) {
+                parent[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+        Map<Integer, List<Long>> groups = new HashMap<>();
+        for (int[] pair : pairs) {
+            for (int i : pair) {
+                groups.computeIfAbsent(find(parent, i), key -> new ArrayList<>()).add(goodsList.get(i).getId());
+            }
+        }
+        List<List<Long>> result = groups.values().stream()
+                .map(ids -> ids.stream().distinct().sorted().collect(Collectors.toList()))
+                .sorted(Comparator.comparing(ids -> ids.get(0)))
+                .collect(Collectors.toList());
+        log.info("重复商品扫描完成: {} 件商品, {} 组重复, 耗时 {} ms", n, result.size(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * 加入指纹索引，返回指纹；无法计算指纹或缺少卖家时不加入并返回 0
+     */
+    private long indexGoods(BizGoods goods) {
+        long fingerprint = SimHash.of(goods.getTitle(), goods.getDescription());
+        if (fingerprint == 0L || goods.getSellerId() == null) {
+            return 0L;
+        }
+        index.add(goods.getId(), fingerprint);
+        sellers.put(goods.getId(), goods.getSellerId());
+        return fingerprint;
+    }
+
+    /**
+     * 收集其他卖家的近似在售商品，调用方需持有锁
+     */
+    private void collectCrossSeller(Long goodsId, long fingerprint, Map<String, BizGoodsDuplicate> flags) {
+        Long sellerId = sellers.get(goodsId);
+        for (Long id : index.query(fingerprint, maxDistance)) {
+            Long otherSeller = sellers.get(id);
+            if (id.equals(goodsId) || otherSeller.equals(sellerId)) {
+                continue;
+            }
+            boolean newer = goodsId > id;
+            BizGoodsDuplicate flag = new BizGoodsDuplicate();
+            flag.setGoodsId(newer ? goodsId : id);
+            flag.setSellerId(newer ? sellerId : otherSeller);
+            flag.setSimilarGoodsId(newer ? id : goodsId);
+            flag.setSimilarSellerId(newer ? otherSeller : sellerId);
+            flags.putIfAbsent(flag.getGoodsId() + ":" + flag.getSimilarGoodsId(), flag);
+        }
+    }
+
+    /**
+     * 记录疑似重复；记录失败不影响商品发布，只记日志
+     */
+    private void saveFlags(List<BizGoodsDuplicate> flags) {
+        for (int from = 0; from < flags.size(); from += FLAG_BATCH_SIZE) {
+            List<BizGoodsDuplicate> chunk = flags.subList(from, Math.min(from + FLAG_BATCH_SIZE, flags.size()));
+            try {
+                bizGoodsDuplicateMapper.insertIgnoreBatch(chunk);
+            } catch (Exception e) {
+                log.error("记录疑似跨卖家重复商品失败: {} 对", chunk.size(), e);
+            }
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * 按主键游标分批读取在售商品的指纹相关字段
+     */
+    private void scanOnSale(Consumer<List<BizGoods>> consumer) {
+        long lastId = 0L;
+        while (true) {
+            List<BizGoods> batch = bizGoodsMapper.selectList(new LambdaQueryWrapper<BizGoods>()
+                    .select(BizGoods::getId, BizGoods::getSellerId, BizGoods::getTitle, BizGoods::getDescription)
+                    .eq(BizGoods::getStatus, 0)
+                    .gt(BizGoods::getId, lastId)
+                    .orderByAsc(BizGoods::getId)
+                    .last("LIMIT " + SCAN_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            consumer.accept(batch);
+            if (batch.size() < SCAN_BATCH_SIZE) {
+                return;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.campus.service.impl;
+
+import com.campus.entity.BizGoods;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsFacetService;
+import com.campus.service.GoodsSearchService;
+import com.campus.vo.GoodsFacetVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 商品分面统计服务实现
+ * 在内存中以列式数组保存商品的分类、状态、价格（分）、交易方式，一次遍历算出所有维度的计数
+ */
+@Slf4j
+@Service
+public class GoodsFacetServiceImpl implements GoodsFacetService {
+
+    /**
+     * 价格区间边界（分），左闭右开
+     */
+    private static final long[] PRICE_BOUNDS = { 0, 1000, 5000, 10000, 50000, 100000 };
+
+    private static final int ON_SALE = 0;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Autowired
+    private GoodsSearchService goodsSearchService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int rowCount = 0;
+    private long[] ids = new long[1024];
+    private int[] categories = new int[1024];
+    private int[] statuses = new int[1024];
+    private long[] prices = new long[1024];
+    private int[] deliveryTypes = new int[1024];
+    private final BitSet live = new BitSet();
+
+    /**
+     * 商品ID -> 行号
+     */
+    private final Map<Long, Integer> rowOf = new HashMap<>();
+
+    /**
+     * 分类ID 与 紧凑下标 的双向字典
+     */
+    private final Map<Long, Integer> categoryIndex = new HashMap<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        while (true) {
+            List<BizGoods> batch = bizGoodsService.lambdaQuery()
+                    .select(BizGoods::getId, BizGoods::getCategoryId, BizGoods::getStatus,
+                            BizGoods::getPrice, BizGoods::getDeliveryType)
+                    .gt(BizGoods::getId, lastId)
+                    .orderByAsc(BizGoods::getId)
+                    .last("LIMIT 2000")
+                    .list();
+            if (batch.isEmpty()) {
+                break;
+            }
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::upsert);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        log.info("商品分面索引构建完成: {} 行, 耗时 {} ms", rowCount, System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onGoodsChanged(GoodsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : event.getGoodsIds()) {
+                BizGoods goods = event.get(id);
+                if (goods != null) {
+                    upsert(goods);
+                } else {
+                    Integer row = rowOf.get(id);
+                    if (row != null) {
+                        live.clear(row);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public GoodsFacetVo facets(String keyword, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+            Integer deliveryType) {
+        List<Long> keywordIds = null;
+        if (StringUtils.hasText(keyword)) {
+            keywordIds = goodsSearchService.search(keyword, null, null);
+            if (keywordIds == null) {
+                keywordIds = bizGoodsService.lambdaQuery()
+                        .select(BizGoods::getId)
+                        .eq(BizGoods::getStatus, ON_SALE)
+                        .and(w -> w.like(BizGoods::getTitle, keyword).or().like(BizGoods::getDescription, keyword))
+                        .list().stream().map(BizGoods::getId).toList();
+            }
+        }
+        long minCents = minPrice == null ? Long.MIN_VALUE : toCents(minPrice);
+        long maxCents = maxPrice == null ? Long.MAX_VALUE : toCents(maxPrice);
+        int deliveryFilter = deliveryType == null ? -1 : deliveryType;
+
+        lock.readLock().lock();
+        try {
+            int categoryFilter = -1;
+            if (categoryId != null) {
+                Integer idx = categoryIndex.get(categoryId);
+                categoryFilter = idx == null ? Integer.MAX_VALUE : idx;
+            }
+
+            // 候选行：在售 + 关键词命中（硬过滤）
+            BitSet candidates;
+            if (keywordIds != null) {
+                candidates = new BitSet(rowCount);
+                for (Long id : keywordIds) {
+                    Integer row = rowOf.get(id);
+                    if (row != null) {
+                        candidates.set(row);
+                    }
+                }
+                candidates.and(live);
+            } else {
+                candidates = live;
+            }
+
+            long total = 0;
+            long[] categoryCounts = new long[categoryIds.size()];
+            long[] priceCounts = new long[PRICE_BOUNDS.length];
+            long[] deliveryCounts = new long[8];
+
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if (statuses[row] != ON_SALE) {
+                    continue;
+                }
+                int category = categories[row];
+                long price = prices[row];
+                int delivery = deliveryTypes[row];
+
+                boolean categoryMiss = categoryFilter >= 0 && category != categoryFilter;
+                boolean priceMiss = price < minCents || price >= maxCents;
+                boolean deliveryMiss = deliveryFilter >= 0 && delivery != deliveryFilter;
+                int misses = (categoryMiss ? 1 : 0) + (priceMiss ? 1 : 0) + (deliveryMiss ? 1 : 0);
+
+                // 全部命中计入所有维度；仅一个维度未命中时只计入该维度（该维度自身的筛选不参与）
+                if (misses == 0) {
+                    total++;
+                }
+                if (misses == 0 || (misses == 1 && categoryMiss)) {
+                    if (category >= 0) {
+                        categoryCounts[category]++;
+                    }
+                }
+                if (misses == 0 || (misses == 1 && priceMiss)) {
+                    int bucket = priceBucket(price);
+                    if (bucket >= 0) {
+                        priceCounts[bucket]++;
+                    }
+                }
+                if (misses == 0 || (misses == 1 && deliveryMiss)) {
+                    if (delivery >= 0 && delivery < deliveryCounts.length) {
+                        deliveryCounts[delivery]++;
+                    }
+                }
+            }
+
+            GoodsFacetVo vo = new GoodsFacetVo();
+            vo.setTotal(total);
+            Map<Long, Long> categoryMap = new TreeMap<>();
+            for (int i = 0; i < categoryCounts.length; i++) {
+                if (categoryCounts[i] > 0) {
+                    categoryMap.put(categoryIds.get(i), categoryCounts[i]);
+                }
+            }
+            vo.setCategoryCounts(categoryMap);
+            Map<String, Long> priceMap = new LinkedHashMap<>();
+            for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+                priceMap.put(bucketLabel(i), priceCounts[i]);
+            }
+            vo.setPriceCounts(priceMap);
+            Map<Integer, Long> deliveryMap = new TreeMap<>();
+            for (int i = 0; i < deliveryCounts.length; i++) {
+                if (deliveryCounts[i] > 0) {
+                    deliveryMap.put(i, deliveryCounts[i]);
+                }
+            }
+            vo.setDeliveryTypeCounts(deliveryMap);
+            return vo;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(BizGoods goods) {
+        Integer row = rowOf.get(goods.getId());
+        if (row == null) {
+            ensureCapacity(rowCount + 1);
+            row = rowCount++;
+            rowOf.put(goods.getId(), row);
+            ids[row] = goods.getId();
+        }
+        categories[row] = categoryIndexOf(goods.getCategoryId());
+        statuses[row] = goods.getStatus() == null ? -1 : goods.getStatus();
+        prices[row] = goods.getPrice() == null ? -1 : toCents(goods.getPrice());
+        deliveryTypes[row] = goods.getDeliveryType() == null ? -1 : goods.getDeliveryType();
+        live.set(row);
+    }
+
+    private int categoryIndexOf(Long categoryId) {
+        if (categoryId == null) {
+            return -1;
+        }
+        return categoryIndex.computeIfAbsent(categoryId, k -> {
+            categoryIds.add(k);
+            return categoryIds.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, newLength);
+        categories = Arrays.copyOf(categories, newLength);
+        statuses = Arrays.copyOf(statuses, newLength);
+        prices = Arrays.copyOf(prices, newLength);
+        deliveryTypes = Arrays.copyOf(deliveryTypes, newLength);
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static int priceBucket(long cents) {
+        if (cents < 0) {
+            return -1;
+        }
+        for (int i = PRICE_BOUNDS.length - 1; i >= 0; i--) {
+            if (cents >= PRICE_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String bucketLabel(int bucket) {
+        String from = String.valueOf(PRICE_BOUNDS[bucket] / 100);
+        return bucket + 1 < PRICE_BOUNDS.length ? from + "-" + PRICE_BOUNDS[bucket + 1] / 100 : from + "-";
+    }
+}
@@ -0,0 +1,162 @@
+package com.campus.service.impl;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.entity.BizCategory;
+import com.campus.entity.BizGoods;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.service.BizCategoryService;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsFeedSnapshotService;
+import com.campus.vo.GoodsVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 商品首页快照服务实现
+ * 商品变更时标记受影响的快照，由后台任务合并重建；请求只读取内存中的不可变快照
+ */
+@Slf4j
+@Service
+public class GoodsFeedSnapshotServiceImpl implements GoodsFeedSnapshotService {
+
+    /**
+     * 全站快照的 key
+     */
+    private static final Long GLOBAL = 0L;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Autowired
+    private BizCategoryService bizCategoryService;
+
+    @Value("${goods.feed-snapshot.size:50}")
+    private int capacity;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private static class Snapshot {
+        private final List<GoodsVo> items;
+        private final long total;
+        private final Set<Long> ids;
+
+        private Snapshot(List<GoodsVo> items, long total) {
+            this.items = items;
+            this.total = total;
+            this.ids = ConcurrentHashMap.newKeySet();
+            items.forEach(vo -> ids.add(vo.getId()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        long start = System.currentTimeMillis();
+        rebuild(GLOBAL);
+        for (BizCategory category : bizCategoryService.list()) {
+            rebuild(category.getId());
+        }
+        log.info("商品首页快照构建完成: {} 个, 耗时 {} ms", snapshots.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public Page<GoodsVo> firstPage(Long categoryId, int size) {
+        if (size <= 0 || size > capacity) {
+            return null;
+        }
+        Long key = categoryId == null ? GLOBAL : categoryId;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            // 只为存在的分类构建快照，未知分类交给调用方走数据库查询，避免任意ID撑大快照表
+            if (!GLOBAL.equals(key) && bizCategoryService.getById(key) == null) {
+                return null;
+            }
+            // 新分类尚无快照，同步构建一次
+            snapshot = rebuild(key);
+        }
+        Page<GoodsVo> page = new Page<>(1, size, snapshot.total);
+        page.setRecords(new ArrayList<>(snapshot.items.subList(0, Math.min(size, snapshot.items.size()))));
+        return page;
+    }
+
+    @EventListener
+    public void onGoodsChanged(GoodsChangedEvent event) {
+        dirty.add(GLOBAL);
+        for (Long id : event.getGoodsIds()) {
+            BizGoods goods = event.get(id);
+            if (goods != null && goods.getCategoryId() != null) {
+                dirty.add(goods.getCategoryId());
+            }
+            // 商品可能换了分类，原分类的快照也需要重建
+            snapshots.forEach((key, snapshot) -> {
+                if (snapshot.ids.contains(id)) {
+                    dirty.add(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * 合并重建有变更的快照，尚未构建过的分类等首次访问时再构建
+     */
+    @Scheduled(fixedDelayString = "${goods.feed-snapshot.refresh-interval-ms:1000}")
+    public void refreshDirty() {
+        for (Long key : new ArrayList<>(dirty)) {
+            dirty.remove(key);
+            if (!snapshots.containsKey(key)) {
+                continue;
+            }
+            try {
+                rebuild(key);
+            } catch (Exception e) {
+                dirty.add(key);
+                log.error("商品首页快照重建失败, key={}", key, e);
+            }
+        }
+    }
+
+    /**
+     * 定期全量刷新，同步卖家资料等非商品表的变更；已删除分类的快照在此清除
+     */
+    @Scheduled(fixedDelayString = "${goods.feed-snapshot.full-refresh-interval-ms:300000}",
+            initialDelayString = "${goods.feed-snapshot.full-refresh-interval-ms:300000}")
+    public void refreshAll() {
+        Set<Long> keys = new HashSet<>();
+        keys.add(GLOBAL);
+        bizCategoryService.list().forEach(category -> keys.add(category.getId()));
+        snapshots.keySet().retainAll(keys);
+        dirty.addAll(snapshots.keySet());
+    }
+
+    private Snapshot rebuild(Long key) {
+        List<BizGoods> goodsList = bizGoodsService.lambdaQuery()
+                .eq(BizGoods::getStatus, 0)
+                .eq(!GLOBAL.equals(key), BizGoods::getCategoryId, key)
+                .orderByDesc(BizGoods::getCreateTime)
+                .orderByDesc(BizGoods::getId)
+                .last("LIMIT " + capacity)
+                .list();
+        long total = goodsList.size() < capacity ? goodsList.size()
+                : bizGoodsService.lambdaQuery()
+                        .eq(BizGoods::getStatus, 0)
+                        .eq(!GLOBAL.equals(key), BizGoods::getCategoryId, key)
+                        .count();
+
+        Snapshot snapshot = new Snapshot(bizGoodsService.toGoodsVoList(goodsList), total);
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+}
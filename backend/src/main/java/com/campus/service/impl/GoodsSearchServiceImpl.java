@@ -0,0 +1,224 @@
+package com.campus.service.impl;
+
+import com.campus.common.TextTokenizer;
+import com.campus.entity.BizGoods;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 商品全文检索服务实现
+ * 对标题、描述、标签建立内存倒排索引，启动时全量构建，商品变更时增量更新；按 BM25 风格打分排序
+ */
+@Slf4j
+@Service
+public class GoodsSearchServiceImpl implements GoodsSearchService {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAGS_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 词条 -> (商品ID -> 加权词频)，有序以支持英文前缀匹配
+     */
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /**
+     * 商品ID -> 文档信息
+     */
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    private static class Doc {
+        private Long categoryId;
+        private Long sellerId;
+        private LocalDateTime createTime;
+        private Set<String> terms;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        bizGoodsService.scanOnSale(1000, batch -> {
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::indexGoods);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        ready = true;
+        log.info("商品检索索引构建完成: {} 件商品, {} 个词条, 耗时 {} ms",
+                docs.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onGoodsChanged(GoodsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : event.getGoodsIds()) {
+                BizGoods goods = event.get(id);
+                if (goods != null && Integer.valueOf(0).equals(goods.getStatus())) {
+                    indexGoods(goods);
+                } else {
+                    removeGoods(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String keyword, Long categoryId, Long sellerId) {
+        if (!ready) {
+            return null;
+        }
+        List<String> queryTerms = new ArrayList<>(new HashSet<>(TextTokenizer.tokenize(keyword)));
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+        for (String term : queryTerms) {
+            if (TextTokenizer.isSingleCjk(term)) {
+                return null; // 单字查询无法由二元组索引命中
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocs = docs.size();
+            Map<Long, Double> scores = null;
+            // 每个查询词条都必须命中（AND 语义）
+            for (String term : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map<Long, Integer> posting : expand(term)) {
+                    double idf = Math.log(1 + (totalDocs - posting.size() + 0.5) / (posting.size() + 0.5));
+                    posting.forEach((id, tf) -> termScores.merge(id, idf * tf * (K1 + 1) / (tf + K1), Double::sum));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> merged = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double s = termScores.get(entry.getKey());
+                        if (s != null) {
+                            merged.put(entry.getKey(), entry.getValue() + s);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            List<Long> hits = new ArrayList<>();
+            for (Long id : scores.keySet()) {
+                Doc doc = docs.get(id);
+                if (categoryId != null && !categoryId.equals(doc.categoryId)) {
+                    continue;
+                }
+                if (sellerId != null && !sellerId.equals(doc.sellerId)) {
+                    continue;
+                }
+                hits.add(id);
+            }
+            Map<Long, Double> finalScores = scores;
+            hits.sort((a, b) -> {
+                int c = Double.compare(finalScores.get(b), finalScores.get(a));
+                if (c != 0) {
+                    return c;
+                }
+                LocalDateTime ta = docs.get(a).createTime;
+                LocalDateTime tb = docs.get(b).createTime;
+                if (ta != null && tb != null && !ta.equals(tb)) {
+                    return tb.compareTo(ta);
+                }
+                return Long.compare(b, a);
+            });
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询词条对应的倒排表；英文/数字词条按前缀扩展，与 LIKE 的部分匹配行为保持接近
+     */
+    private List<Map<Long, Integer>> expand(String term) {
+        List<Map<Long, Integer>> result = new ArrayList<>();
+        if (TextTokenizer.isCjk(term.codePointAt(0))) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                result.add(posting);
+            }
+            return result;
+        }
+        NavigableMap<String, Map<Long, Integer>> range = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        result.addAll(range.values());
+        return result;
+    }
+
+    private void indexGoods(BizGoods goods) {
+        removeGoods(goods.getId());
+
+        Map<String, Integer> tf = new HashMap<>();
+        addTerms(tf, goods.getTitle(), TITLE_WEIGHT);
+        addTerms(tf, goods.getTags(), TAGS_WEIGHT);
+        addTerms(tf, goods.getDescription(), DESCRIPTION_WEIGHT);
+
+        Doc doc = new Doc();
+        doc.categoryId = goods.getCategoryId();
+        doc.sellerId = goods.getSellerId();
+        doc.createTime = goods.getCreateTime();
+        doc.terms = tf.keySet();
+        docs.put(goods.getId(), doc);
+
+        tf.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(goods.getId(), weight));
+    }
+
+    private void removeGoods(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> tf, String text, int weight) {
+        for (String token : TextTokenizer.tokenize(text)) {
+            tf.merge(token, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.campus.service.impl;
+
+import com.campus.common.TextTokenizer;
+import com.campus.entity.BizFavorite;
+import com.campus.entity.BizGoods;
+import com.campus.service.BizFavoriteService;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsSimilarService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * 相似商品推荐服务实现
+ * 相似度 = 收藏共现余弦相似度 * 0.6 + 同分类标题 TF-IDF 余弦相似度 * 0.4。
+ * 两类特征都以稀疏倒排表存放，每件商品只和与它共享收藏用户或标题词条的商品计算，按商品并行（ForkJoin）；
+ * 结果保存为 商品ID -> 相似商品ID数组，并写入文件，重启后直接加载
+ */
+@Slf4j
+@Service
+public class GoodsSimilarServiceImpl implements GoodsSimilarService {
+
+    private static final double FAVORITE_WEIGHT = 0.6;
+    private static final double TITLE_WEIGHT = 0.4;
+
+    /**
+     * 收藏数超过该值的用户不参与共现统计：信号弱且会让计算量平方增长
+     */
+    private static final int MAX_USER_FAVORITES = 500;
+
+    /**
+     * 在分类内出现比例超过该值的词条不参与标题相似度（区分度低且倒排表过长）
+     */
+    private static final double MAX_TERM_DF_RATIO = 0.2;
+    private static final int MIN_TERM_DF_LIMIT = 50;
+
+    private static final int FILE_VERSION = 1;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Autowired
+    private BizFavoriteService bizFavoriteService;
+
+    @Value("${goods.similar.top-n:20}")
+    private int topN;
+
+    @Value("${goods.similar.parallelism:0}")
+    private int parallelism;
+
+    @Value("${goods.similar.file:data/similar.dat}")
+    private String similarFile;
+
+    /**
+     * 商品ID -> 相似商品ID（按相似度降序），整体替换
+     */
+    private volatile Map<Long, long[]> neighbours = new HashMap<>();
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 某一分类下某个词条的倒排表
+     */
+    private static final class Posting {
+        private int[] goods = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int goodsIndex, float weight) {
+            if (size == goods.length) {
+                goods = Arrays.copyOf(goods, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            goods[size] = goodsIndex;
+            weights[size++] = weight;
+        }
+    }
+
+    /**
+     * 每个计算线程复用的累加缓冲区
+     */
+    private static final class Scratch {
+        private final double[] favorite;
+        private final double[] title;
+        private final boolean[] seen;
+        private final int[] touched;
+        private int touchedSize;
+
+        private Scratch(int n) {
+            favorite = new double[n];
+            title = new double[n];
+            seen = new boolean[n];
+            touched = new int[n];
+        }
+
+        private void touch(int j) {
+            if (!seen[j]) {
+                seen[j] = true;
+                touched[touchedSize++] = j;
+            }
+        }
+
+        private void reset() {
+            for (int k = 0; k < touchedSize; k++) {
+                int j = touched[k];
+                favorite[j] = 0;
+                title[j] = 0;
+                seen[j] = false;
+            }
+            touchedSize = 0;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Path path = Paths.get(similarFile);
+        if (!Files.exists(path)) {
+            CompletableFuture.runAsync(this::rebuild);
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_VERSION) {
+                CompletableFuture.runAsync(this::rebuild);
+                return;
+            }
+            int n = in.readInt();
+            Map<Long, long[]> loaded = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                long id = in.readLong();
+                long[] ids = new long[in.readInt()];
+                for (int k = 0; k < ids.length; k++) {
+                    ids[k] = in.readLong();
+                }
+                loaded.put(id, ids);
+            }
+            neighbours = loaded;
+            log.info("相似商品已从文件加载: {} 件商品", n);
+        } catch (IOException e) {
+            log.warn("读取相似商品文件失败，重新计算: {}", path, e);
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    @Override
+    public List<Long> similar(Long goodsId, int size) {
+        long[] ids = neighbours.get(goodsId);
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Long> result = new ArrayList<>(Math.min(size, ids.length));
+        for (int i = 0; i < ids.length && i < size; i++) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+
+    @Override
+    @Scheduled(cron = "${goods.similar.cron:0 30 3 * * ?}")
+    public void rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<Long, long[]> result = compute();
+            neighbours = result;
+            write(result);
+            log.info("相似商品计算完成: {} 件商品, 耗时 {} ms", result.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("相似商品计算失败", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<Long, long[]> compute() throws InterruptedException, ExecutionException {
+        List<BizGoods> goodsList = new ArrayList<>();
+        bizGoodsService.scanOnSale(1000, goodsList::addAll);
+        int n = goodsList.size();
+        long[] ids = new long[n];
+        Map<Long, Integer> indexOf = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            ids[i] = goodsList.get(i).getId();
+            indexOf.put(ids[i], i);
+        }
+
+        // 收藏：用户 -> 收藏的商品下标，再转成 商品 -> 所在的收藏篮
+        int[] favoriteCounts = new int[n];
+        List<int[]> baskets = loadBaskets(indexOf, favoriteCounts);
+        int[][] basketsOfGoods = invert(baskets, n);
+
+        // 标题：分类内 TF-IDF 向量，按 (分类, 词条) 建倒排表
+        Map<Long, Map<String, Posting>> postings = new HashMap<>();
+        List<List<String>> termsOfGoods = new ArrayList<>(n);
+        Map<Long, Map<String, Integer>> dfs = new HashMap<>();
+        Map<Long, Integer> categorySizes = new HashMap<>();
+        for (BizGoods goods : goodsList) {
+            List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(goods.getTitle())));
+            termsOfGoods.add(terms);
+            Map<String, Integer> df = dfs.computeIfAbsent(goods.getCategoryId(), key -> new HashMap<>());
+            terms.forEach(term -> df.merge(term, 1, Integer::sum));
+            categorySizes.merge(goods.getCategoryId(), 1, Integer::sum);
+        }
+        float[][] titleWeights = new float[n][];
+        for (int i = 0; i < n; i++) {
+            Long categoryId = goodsList.get(i).getCategoryId();
+            int categorySize = categorySizes.get(categoryId);
+            Map<String, Integer> df = dfs.get(categoryId);
+            List<String> terms = termsOfGoods.get(i);
+            float[] weights = new float[terms.size()];
+            double norm = 0;
+            for (int k = 0; k < terms.size(); k++) {
+                weights[k] = (float) Math.log(1d + (double) categorySize / df.get(terms.get(k)));
+                norm += weights[k] * weights[k];
+            }
+            norm = Math.sqrt(norm);
+            Map<String, Posting> categoryPostings = postings.computeIfAbsent(categoryId, key -> new HashMap<>());
+            int dfLimit = Math.max(MIN_TERM_DF_LIMIT, (int) (categorySize * MAX_TERM_DF_RATIO));
+            for (int k = 0; k < terms.size(); k++) {
+                weights[k] = norm > 0 ? (float) (weights[k] / norm) : 0f;
+                if (df.get(terms.get(k)) <= dfLimit) {
+                    categoryPostings.computeIfAbsent(terms.get(k), key -> new Posting()).add(i, weights[k]);
+                }
+            }
+            titleWeights[i] = weights;
+        }
+
+        // 按商品并行计算相似度，每个线程复用自己的累加缓冲区
+        long[][] result = new long[n][];
+        ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(() -> new Scratch(n));
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(i -> {
+                Scratch scratch = scratches.get();
+                for (int basket : basketsOfGoods[i]) {
+                    for (int j : baskets.get(basket)) {
+                        if (j != i) {
+                            scratch.touch(j);
+                            scratch.favorite[j] += 1;
+                        }
+                    }
+                }
+                Map<String, Posting> categoryPostings = postings.get(goodsList.get(i).getCategoryId());
+                List<String> terms = termsOfGoods.get(i);
+                for (int k = 0; k < terms.size(); k++) {
+                    Posting posting = categoryPostings.get(terms.get(k));
+                    if (posting == null) {
+                        continue;
+                    }
+                    for (int p = 0; p < posting.size; p++) {
+                        int j = posting.goods[p];
+                        if (j != i) {
+                            scratch.touch(j);
+                            scratch.title[j] += titleWeights[i][k] * posting.weights[p];
+                        }
+                    }
+                }
+                result[i] = topNeighbours(i, scratch, favoriteCounts, ids);
+                scratch.reset();
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Long, long[]> map = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (result[i].length > 0) {
+                map.put(ids[i], result[i]);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 读取收藏记录，按用户聚合为收藏篮（商品下标数组），同时统计每件商品的收藏数
+     */
+    private List<int[]> loadBaskets(Map<Long, Integer> indexOf, int[] favoriteCounts) {
+        Map<Long, Set<Integer>> byUser = new HashMap<>();
+        long lastId = 0L;
+        while (true) {
+            List<BizFavorite> batch = bizFavoriteService.lambdaQuery()
+                    .select(BizFavorite::getId, BizFavorite::getUserId, BizFavorite::getGoodsId)
+                    .gt(BizFavorite::getId, lastId)
+                    .orderByAsc(BizFavorite::getId)
+                    .last("LIMIT 5000")
+                    .list();
+            for (BizFavorite favorite : batch) {
+                Integer index = indexOf.get(favorite.getGoodsId());
+                if (index != null) {
+                    byUser.computeIfAbsent(favorite.getUserId(), key -> new LinkedHashSet<>()).add(index);
+                }
+            }
+            if (batch.size() < 5000) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        List<int[]> baskets = new ArrayList<>();
+        for (Set<Integer> goods : byUser.values()) {
+            goods.forEach(index -> favoriteCounts[index]++);
+            if (goods.size() >= 2 && goods.size() <= MAX_USER_FAVORITES) {
+                baskets.add(goods.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return baskets;
+    }
+
+    private static int[][] invert(List<int[]> baskets, int n) {
+        int[] counts = new int[n];
+        baskets.forEach(basket -> {
+            for (int index : basket) {
+                counts[index]++;
+            }
+        });
+        int[][] inverted = new int[n][];
+        for (int i = 0; i < n; i++) {
+            inverted[i] = new int[counts[i]];
+        }
+        int[] cursor = new int[n];
+        for (int b = 0; b < baskets.size(); b++) {
+            for (int index : baskets.get(b)) {
+                inverted[index][cursor[index]++] = b;
+            }
+        }
+        return inverted;
+    }
+
+    /**
+     * 合并两类相似度并选出前 N 个
+     */
+    private long[] topNeighbours(int i, Scratch scratch, int[] favoriteCounts, long[] ids) {
+        int[] best = new int[topN];
+        double[] bestScores = new double[topN];
+        int size = 0;
+        for (int k = 0; k < scratch.touchedSize; k++) {
+            int j = scratch.touched[k];
+            double score = TITLE_WEIGHT * scratch.title[j];
+            if (scratch.favorite[j] > 0) {
+                score += FAVORITE_WEIGHT * scratch.favorite[j] / Math.sqrt((double) favoriteCounts[i] * favoriteCounts[j]);
+            }
+            if (size < topN) {
+                best[size] = j;
+                bestScores[size++] = score;
+                continue;
+            }
+            int min = 0;
+            for (int m = 1; m < size; m++) {
+                if (bestScores[m] < bestScores[min]) {
+                    min = m;
+                }
+            }
+            if (score > bestScores[min]) {
+                best[min] = j;
+                bestScores[min] = score;
+            }
+        }
+        Integer[] order = new Integer[size];
+        for (int m = 0; m < size; m++) {
+            order[m] = m;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(bestScores[b], bestScores[a]));
+        long[] neighbourIds = new long[size];
+        for (int m = 0; m < size; m++) {
+            neighbourIds[m] = ids[best[order[m]]];
+        }
+        return neighbourIds;
+    }
+
+    private void write(Map<Long, long[]> result) {
+        Path path = Paths.get(similarFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_VERSION);
+                out.writeInt(result.size());
+                for (Map.Entry<Long, long[]> entry : result.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (long id : entry.getValue()) {
+                        out.writeLong(id);
+                    }
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("写入相似商品文件失败: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.campus.service.impl;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.campus.entity.BizGoods;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsSortIndexService;
+import com.campus.service.GoodsViewCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 商品排序索引服务实现
+ * 每个分类（以及全站）对每种排序键维护一对按 (key, id) 升序排列的原始类型数组；
+ * 写入时二分定位后复制出新数组（写时复制），读取无锁，按下标直接切出一页
+ */
+@Slf4j
+@Service
+public class GoodsSortIndexServiceImpl implements GoodsSortIndexService {
+
+    private static final Long GLOBAL = 0L;
+
+    private static final int PRICE = 0;
+    private static final int VIEWS = 1;
+    private static final int CREATED = 2;
+
+    /**
+     * 单次变更超过该件数时不再逐件写时复制，改为整体重建一次
+     */
+    private static final int BULK_THRESHOLD = 64;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Autowired
+    private GoodsViewCountService goodsViewCountService;
+
+    /**
+     * 分类 -> [价格, 人气, 发布时间] 三个有序数组
+     */
+    private final Map<Long, Sorted[]> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * 商品ID -> 当前入索引的排序键，写操作在 this 上同步
+     */
+    private final Map<Long, Meta> metas = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 入索引时的排序键，创建后不再修改；键变化时整体替换
+     */
+    private static final class Meta {
+        private final Long categoryId;
+        private final long[] keys;
+
+        private Meta(Long categoryId, long[] keys) {
+            this.categoryId = categoryId;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * 不可变的有序数组，按 (key, id) 升序
+     */
+    private static final class Sorted {
+        private static final Sorted EMPTY = new Sorted(new long[0], new long[0]);
+
+        private final long[] keys;
+        private final long[] ids;
+
+        private Sorted(long[] keys, long[] ids) {
+            this.keys = keys;
+            this.ids = ids;
+        }
+
+        private int search(long key, long id) {
+            int lo = 0;
+            int hi = keys.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = keys[mid] != key ? Long.compare(keys[mid], key) : Long.compare(ids[mid], id);
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+
+        private Sorted insert(long key, long id) {
+            int pos = search(key, id);
+            if (pos >= 0) {
+                return this;
+            }
+            pos = -pos - 1;
+            long[] newKeys = new long[keys.length + 1];
+            long[] newIds = new long[ids.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            newKeys[pos] = key;
+            newIds[pos] = id;
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(ids, pos, newIds, pos + 1, ids.length - pos);
+            return new Sorted(newKeys, newIds);
+        }
+
+        private Sorted remove(long key, long id) {
+            int pos = search(key, id);
+            if (pos < 0) {
+                return this;
+            }
+            long[] newKeys = new long[keys.length - 1];
+            long[] newIds = new long[ids.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(keys, pos + 1, newKeys, pos, keys.length - pos - 1);
+            System.arraycopy(ids, pos + 1, newIds, pos, ids.length - pos - 1);
+            return new Sorted(newKeys, newIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            bizGoodsService.scanOnSale(1000, batch -> batch.forEach(
+                    goods -> metas.put(goods.getId(), new Meta(goods.getCategoryId(), keysOf(goods)))));
+            rebuildAll();
+        }
+        ready = true;
+        log.info("商品排序索引构建完成: {} 件商品, 耗时 {} ms", metas.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public synchronized void onGoodsChanged(GoodsChangedEvent event) {
+        if (event.getGoodsIds().size() > BULK_THRESHOLD) {
+            // 批量发布、批量下架等：逐件复制数组为 O(k·n)，直接整体重建
+            for (Long id : event.getGoodsIds()) {
+                metas.remove(id);
+                BizGoods goods = event.get(id);
+                if (goods != null && Integer.valueOf(0).equals(goods.getStatus())) {
+                    metas.put(id, new Meta(goods.getCategoryId(), keysOf(goods)));
+                }
+            }
+            rebuildAll();
+            return;
+        }
+        for (Long id : event.getGoodsIds()) {
+            Meta old = metas.remove(id);
+            if (old != null) {
+                update(old.categoryId, id, old.keys, false);
+            }
+            BizGoods goods = event.get(id);
+            if (goods != null && Integer.valueOf(0).equals(goods.getStatus())) {
+                Meta meta = new Meta(goods.getCategoryId(), keysOf(goods));
+                metas.put(id, meta);
+                update(meta.categoryId, id, meta.keys, true);
+            }
+        }
+    }
+
+    /**
+     * 定期用最新浏览量重排人气索引
+     */
+    @Scheduled(fixedDelayString = "${goods.sort-index.popular-refresh-interval-ms:300000}",
+            initialDelayString = "${goods.sort-index.popular-refresh-interval-ms:300000}")
+    public void refreshPopular() {
+        if (!ready) {
+            return;
+        }
+        Map<Long, Long> views = new HashMap<>();
+        bizGoodsService.lambdaQuery()
+                .select(BizGoods::getId, BizGoods::getViewCount)
+                .eq(BizGoods::getStatus, 0)
+                .list()
+                .forEach(goods -> views.put(goods.getId(),
+                        (goods.getViewCount() == null ? 0L : goods.getViewCount())
+                                + goodsViewCountService.pending(goods.getId())));
+        synchronized (this) {
+            metas.replaceAll((id, meta) -> {
+                Long count = views.get(id);
+                if (count == null || count == meta.keys[VIEWS]) {
+                    return meta;
+                }
+                long[] keys = meta.keys.clone();
+                keys[VIEWS] = count;
+                return new Meta(meta.categoryId, keys);
+            });
+            rebuildAll();
+        }
+    }
+
+    @Override
+    public Page<Long> page(Sort sort, Long categoryId, int page, int size) {
+        if (!ready) {
+            return null;
+        }
+        Sorted[] sorted = indexes.get(categoryId == null ? GLOBAL : categoryId);
+        Sorted index = sorted == null ? Sorted.EMPTY : sorted[keyOf(sort)];
+        boolean descending = sort != Sort.PRICE_ASC;
+
+        int total = index.ids.length;
+        long from = Math.max(0, (long) (page - 1) * size);
+        long to = Math.min(total, from + size);
+        List<Long> ids = new ArrayList<>();
+        for (long i = from; i < to; i++) {
+            int pos = (int) (descending ? total - 1 - i : i);
+            ids.add(index.ids[pos]);
+        }
+        Page<Long> result = new Page<>(page, size, total);
+        result.setRecords(ids);
+        return result;
+    }
+
+    @Override
+    public List<Long> sort(List<Long> goodsIds, Sort sort) {
+        int key = keyOf(sort);
+        boolean descending = sort != Sort.PRICE_ASC;
+        Map<Long, Long> keys = new HashMap<>();
+        synchronized (this) {
+            for (Long id : goodsIds) {
+                Meta meta = metas.get(id);
+                if (meta != null) {
+                    keys.put(id, meta.keys[key]);
+                }
+            }
+        }
+        Comparator<Long> byKey = (a, b) -> {
+            long ka = keys.get(a);
+            long kb = keys.get(b);
+            int c = ka != kb ? Long.compare(ka, kb) : Long.compare(a, b);
+            return descending ? -c : c;
+        };
+        List<Long> known = new ArrayList<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long id : goodsIds) {
+            (keys.containsKey(id) ? known : unknown).add(id);
+        }
+        known.sort(byKey);
+        known.addAll(unknown);
+        return known;
+    }
+
+    private void update(Long categoryId, long id, long[] keys, boolean insert) {
+        for (Long bucket : categoryId == null ? List.of(GLOBAL) : List.of(GLOBAL, categoryId)) {
+            Sorted[] current = indexes.getOrDefault(bucket,
+                    new Sorted[] { Sorted.EMPTY, Sorted.EMPTY, Sorted.EMPTY });
+            Sorted[] next = new Sorted[3];
+            for (int k = 0; k < 3; k++) {
+                next[k] = insert ? current[k].insert(keys[k], id) : current[k].remove(keys[k], id);
+            }
+            indexes.put(bucket, next);
+        }
+    }
+
+    private void rebuildAll() {
+        Map<Long, List<Long>> members = new HashMap<>();
+        metas.forEach((id, meta) -> {
+            members.computeIfAbsent(GLOBAL, k -> new ArrayList<>()).add(id);
+            if (meta.categoryId != null) {
+                members.computeIfAbsent(meta.categoryId, k -> new ArrayList<>()).add(id);
+            }
+        });
+        Map<Long, Sorted[]> rebuilt = new HashMap<>();
+        members.forEach((bucket, ids) -> {
+            Sorted[] sorted = new Sorted[3];
+            for (int k = 0; k < 3; k++) {
+                sorted[k] = sortedOf(ids, k);
+            }
+            rebuilt.put(bucket, sorted);
+        });
+        indexes.putAll(rebuilt);
+        indexes.keySet().retainAll(rebuilt.keySet());
+    }
+
+    private Sorted sortedOf(List<Long> ids, int k) {
+        Long[] ordered = ids.toArray(new Long[0]);
+        Arrays.sort(ordered, (a, b) -> {
+            long ka = metas.get(a).keys[k];
+            long kb = metas.get(b).keys[k];
+            return ka != kb ? Long.compare(ka, kb) : Long.compare(a, b);
+        });
+        long[] keys = new long[ordered.length];
+        long[] sortedIds = new long[ordered.length];
+        for (int i = 0; i < ordered.length; i++) {
+            sortedIds[i] = ordered[i];
+            keys[i] = metas.get(ordered[i]).keys[k];
+        }
+        return new Sorted(keys, sortedIds);
+    }
+
+    private long[] keysOf(BizGoods goods) {
+        long[] keys = new long[3];
+        BigDecimal price = goods.getPrice() == null ? BigDecimal.ZERO : goods.getPrice();
+        keys[PRICE] = price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+        keys[VIEWS] = (goods.getViewCount() == null ? 0L : goods.getViewCount())
+                + goodsViewCountService.pending(goods.getId());
+        keys[CREATED] = goods.getCreateTime() == null ? 0L
+                : goods.getCreateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return keys;
+    }
+
+    private static int keyOf(Sort sort) {
+        switch (sort) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                return PRICE;
+            case POPULAR:
+                return VIEWS;
+            default:
+                return CREATED;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.campus.service.impl;
+
+import com.campus.common.LongDoubleHashMap;
+import com.campus.entity.BizGoods;
+import com.campus.event.GoodsChangedEvent;
+import com.campus.service.BizGoodsService;
+import com.campus.service.GoodsTrendingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 商品热度榜服务实现
+ * 采用前向衰减：信号按 weight * e^(λ(t - L)) 累加，L 为基准时间。任意时刻各商品分数同乘 e^(-λ(now - L))，
+ * 相对顺序不随时间变化，因此榜单只需在信号到达时增量调整，无需定时全量重算；指数过大时整体换算到新基准。
+ * 每个分类（以及全站）维护一个容量为 2K 的候选榜，读取时直接返回预先排好序的数组
+ */
+@Slf4j
+@Service
+public class GoodsTrendingServiceImpl implements GoodsTrendingService {
+
+    private static final Long GLOBAL = 0L;
+
+    private static final int CHECKPOINT_VERSION = 1;
+
+    /**
+     * 指数超过该值时换算到新基准，避免 double 溢出
+     */
+    private static final double MAX_EXPONENT = 30d;
+
+    /**
+     * 当前分数低于该值的商品从表中清除
+     */
+    private static final double MIN_SCORE = 0.01d;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Value("${goods.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${goods.trending.top-k:100}")
+    private int topK;
+
+    @Value("${goods.trending.checkpoint-file:data/trending.dat}")
+    private String checkpointFile;
+
+    /**
+     * 每毫秒的衰减系数 λ
+     */
+    private double lambda;
+
+    /**
+     * 商品ID -> 前向衰减分数，以下状态的读写均在 this 上同步
+     */
+    private final LongDoubleHashMap scores = new LongDoubleHashMap(1024);
+
+    /**
+     * 在售商品ID -> 分类ID
+     */
+    private final Map<Long, Long> categories = new HashMap<>();
+
+    private long landmark = System.currentTimeMillis();
+
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    private final Object checkpointLock = new Object();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 候选榜：无序存放分数最高的若干商品，发布时排序为只读数组供查询
+     */
+    private static final class Board {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+        private boolean dirty;
+        private volatile long[] ranked = new long[0];
+
+        private Board(int capacity) {
+            this.ids = new long[capacity];
+            this.scores = new double[capacity];
+        }
+
+        private void offer(long id, double score) {
+            int index = indexOf(id);
+            if (index >= 0) {
+                if (score > 0) {
+                    scores[index] = score;
+                } else {
+                    removeAt(index);
+                }
+                dirty = true;
+                return;
+            }
+            if (score <= 0) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size++] = score;
+                dirty = true;
+                return;
+            }
+            int min = 0;
+            for (int i = 1; i < size; i++) {
+                if (scores[i] < scores[min]) {
+                    min = i;
+                }
+            }
+            if (score > scores[min]) {
+                ids[min] = id;
+                scores[min] = score;
+                dirty = true;
+            }
+        }
+
+        private void remove(long id) {
+            int index = indexOf(id);
+            if (index >= 0) {
+                removeAt(index);
+                dirty = true;
+            }
+        }
+
+        private void clear() {
+            size = 0;
+            dirty = true;
+        }
+
+        private void publish() {
+            if (!dirty) {
+                return;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = ids[order[i]];
+            }
+            ranked = result;
+            dirty = false;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void removeAt(int index) {
+            size--;
+            ids[index] = ids[size];
+            scores[index] = scores[size];
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        lambda = Math.log(2) / (halfLifeHours * 3600_000d);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            loadCheckpoint();
+            bizGoodsService.scanOnSale(1000, batch -> batch.forEach(
+                    goods -> categories.put(goods.getId(), goods.getCategoryId())));
+            List<Long> stale = new ArrayList<>();
+            scores.forEach((id, score) -> {
+                if (!categories.containsKey(id)) {
+                    stale.add(id);
+                }
+            });
+            stale.forEach(scores::remove);
+            rebuildBoards();
+        }
+        ready = true;
+        log.info("商品热度榜构建完成: {} 件有热度商品, 耗时 {} ms", scores.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void record(Long goodsId, Signal signal) {
+        if (goodsId == null || goodsId <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (!categories.containsKey(goodsId)) {
+                return;
+            }
+            if (lambda * (now - landmark) > MAX_EXPONENT) {
+                rebase(now);
+            }
+            double score = scores.addTo(goodsId, signal.getWeight() * Math.exp(lambda * (now - landmark)));
+            if (score <= 0) {
+                scores.remove(goodsId);
+            }
+            board(GLOBAL).offer(goodsId, score);
+            Long categoryId = categories.get(goodsId);
+            if (categoryId != null) {
+                board(categoryId).offer(goodsId, score);
+            }
+        }
+    }
+
+    @Override
+    public List<Long> top(Long categoryId, int size) {
+        Board board = boards.get(categoryId == null ? GLOBAL : categoryId);
+        if (!ready || board == null) {
+            return new ArrayList<>();
+        }
+        long[] ranked = board.ranked;
+        int n = Math.min(Math.min(size, topK), ranked.length);
+        List<Long> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ids.add(ranked[i]);
+        }
+        return ids;
+    }
+
+    @EventListener
+    public synchronized void onGoodsChanged(GoodsChangedEvent event) {
+        for (Long id : event.getGoodsIds()) {
+            Long oldCategoryId = categories.remove(id);
+            BizGoods goods = event.get(id);
+            if (goods != null && Integer.valueOf(0).equals(goods.getStatus())) {
+                categories.put(id, goods.getCategoryId());
+                if (oldCategoryId != null && !oldCategoryId.equals(goods.getCategoryId())) {
+                    board(oldCategoryId).remove(id);
+                    double score = scores.get(id, 0d);
+                    if (score > 0 && goods.getCategoryId() != null) {
+                        board(goods.getCategoryId()).offer(id, score);
+                    }
+                }
+            } else {
+                scores.remove(id);
+                board(GLOBAL).remove(id);
+                if (oldCategoryId != null) {
+                    board(oldCategoryId).remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * 将榜单变更发布为排好序的只读数组
+     */
+    @Scheduled(fixedDelayString = "${goods.trending.publish-interval-ms:1000}")
+    public synchronized void publish() {
+        boards.values().forEach(Board::publish);
+    }
+
+    /**
+     * 清理低分商品、用全量分数校正候选榜（弥补取消收藏、下架造成的候选缺口），并写入检查点文件
+     */
+    @Scheduled(fixedDelayString = "${goods.trending.checkpoint-interval-ms:60000}",
+            initialDelayString = "${goods.trending.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (!ready) {
+            return;
+        }
+        long[] ids;
+        double[] values;
+        long base;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            scores.scale(1d, MIN_SCORE * Math.exp(lambda * (now - landmark)));
+            rebuildBoards();
+            ids = new long[scores.size()];
+            values = new double[scores.size()];
+            int[] cursor = { 0 };
+            scores.forEach((id, score) -> {
+                ids[cursor[0]] = id;
+                values[cursor[0]++] = score;
+            });
+            base = landmark;
+        }
+        writeCheckpoint(base, ids, values);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private Board board(Long categoryId) {
+        return boards.computeIfAbsent(categoryId, key -> new Board(topK * 2));
+    }
+
+    /**
+     * 把所有分数换算到新基准时间，同时清除低分商品
+     */
+    private void rebase(long now) {
+        scores.scale(Math.exp(-lambda * (now - landmark)), MIN_SCORE);
+        landmark = now;
+        rebuildBoards();
+    }
+
+    private void rebuildBoards() {
+        boards.values().forEach(Board::clear);
+        scores.forEach((id, score) -> {
+            if (!categories.containsKey(id)) {
+                return;
+            }
+            board(GLOBAL).offer(id, score);
+            Long categoryId = categories.get(id);
+            if (categoryId != null) {
+                board(categoryId).offer(id, score);
+            }
+        });
+        boards.values().forEach(Board::publish);
+    }
+
+    private void loadCheckpoint() {
+        Path path = Paths.get(checkpointFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != CHECKPOINT_VERSION) {
+                log.warn("热度榜检查点版本不匹配，忽略: {}", path);
+                return;
+            }
+            landmark = in.readLong();
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                scores.put(in.readLong(), in.readDouble());
+            }
+            long now = System.currentTimeMillis();
+            if (lambda * (now - landmark) > MAX_EXPONENT) {
+                rebase(now);
+            }
+        } catch (IOException e) {
+            log.warn("读取热度榜检查点失败，从空榜开始: {}", path, e);
+            scores.clear();
+            landmark = System.currentTimeMillis();
+        }
+    }
+
+    private void writeCheckpoint(long base, long[] ids, double[] values) {
+        synchronized (checkpointLock) {
+            Path path = Paths.get(checkpointFile);
+            try {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(CHECKPOINT_VERSION);
+                    out.writeLong(base);
+                    out.writeInt(ids.length);
+                    for (int i = 0; i < ids.length; i++) {
+                        out.writeLong(ids[i]);
+                        out.writeDouble(values[i]);
+                    }
+                }
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.error("写入热度榜检查点失败: {}", path, e);
+            }
+        }
+    }
+}
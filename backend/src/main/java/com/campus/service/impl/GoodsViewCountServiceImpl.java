@@ -0,0 +1,106 @@
+package com.campus.service.impl;
+
+import com.campus.mapper.BizGoodsMapper;
+import com.campus.service.GoodsViewCountService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 商品浏览量计数服务实现
+ * 浏览时只累加内存中的分段计数器，定时以 view_count = view_count + ? 批量落库，停机时排空。
+ * 落库后已无增量的计数器即被回收，计数器表只保留最近被浏览的商品
+ */
+@Slf4j
+@Service
+public class GoodsViewCountServiceImpl implements GoodsViewCountService {
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    @Autowired
+    private BizGoodsMapper bizGoodsMapper;
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * total 只增不减；flushed 为已落库的 total 快照，仅由 flush 线程推进。
+     * 计数器被回收后重建时 flushed 从 0 开始
+     */
+    private static class Counter {
+        private final LongAdder total = new LongAdder();
+        private volatile long flushed;
+    }
+
+    @Override
+    public void increment(Long goodsId) {
+        // 在 compute 内累加，与回收互斥，不会累加到刚被移除的计数器上
+        counters.compute(goodsId, (key, counter) -> {
+            Counter target = counter == null ? new Counter() : counter;
+            target.total.increment();
+            return target;
+        });
+    }
+
+    @Override
+    public long pending(Long goodsId) {
+        Counter counter = counters.get(goodsId);
+        return counter == null ? 0 : Math.max(0, counter.total.sum() - counter.flushed);
+    }
+
+    @Override
+    public long flushedMark(Long goodsId) {
+        Counter counter = counters.get(goodsId);
+        return counter == null ? 0 : counter.flushed;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${goods.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        Map<Long, Long> marks = new HashMap<>();
+        counters.forEach((goodsId, counter) -> {
+            long total = counter.total.sum();
+            long delta = total - counter.flushed;
+            if (delta > 0) {
+                deltas.put(goodsId, delta);
+                marks.put(goodsId, total);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        for (int from = 0; from < ids.size(); from += FLUSH_CHUNK_SIZE) {
+            Map<Long, Long> chunk = new LinkedHashMap<>();
+            for (Long id : ids.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, ids.size()))) {
+                chunk.put(id, deltas.get(id));
+            }
+            try {
+                bizGoodsMapper.incrementViewCounts(chunk);
+                // 落库成功后才推进水位，失败的增量留到下次重试
+                chunk.keySet().forEach(id -> counters.get(id).flushed = marks.get(id));
+                // 已全部落库的计数器回收；判断与移除在同一个 compute 中，并发的累加不会丢失
+                chunk.keySet().forEach(id -> counters.computeIfPresent(id,
+                        (key, counter) -> counter.total.sum() == counter.flushed ? null : counter));
+            } catch (Exception e) {
+                log.error("浏览量落库失败, {} 件商品将在下次重试", chunk.size(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
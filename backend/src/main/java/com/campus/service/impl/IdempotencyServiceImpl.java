@@ -0,0 +1,152 @@
+package com.campus.service.impl;
+
+import com.campus.common.LocalCache;
+import com.campus.entity.SysIdempotencyKey;
+import com.campus.mapper.SysIdempotencyKeyMapper;
+import com.campus.service.IdempotencyService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 幂等请求服务实现
+ * 已完成的响应保存在容量有界、带过期时间的本地缓存中；开启 table-enabled 后以数据库表为准，
+ * 通过 INSERT IGNORE 在多个节点间争用同一个幂等键，本地缓存只作为已完成响应的近端缓存
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    @Autowired
+    private SysIdempotencyKeyMapper sysIdempotencyKeyMapper;
+
+    @Value("${idempotency.max-size:100000}")
+    private int maxSize;
+
+    @Value("${idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /**
+     * 处理中的幂等键超过该时间视为首次请求已中断，允许重新执行
+     */
+    @Value("${idempotency.pending-timeout-seconds:60}")
+    private long pendingTimeoutSeconds;
+
+    @Value("${idempotency.table-enabled:false}")
+    private boolean tableEnabled;
+
+    private LocalCache<String, StoredResponse> completed;
+
+    /**
+     * 本节点处理中的幂等键 -> 开始时间（纳秒）
+     */
+    private final ConcurrentHashMap<String, Long> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        completed = new LocalCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public StoredResponse begin(String key) {
+        StoredResponse response = completed.getIfPresent(key);
+        if (response != null) {
+            return response;
+        }
+
+        long now = System.nanoTime();
+        Long startedAt = pending.putIfAbsent(key, now);
+        if (startedAt != null) {
+            if (now - startedAt < TimeUnit.SECONDS.toNanos(pendingTimeoutSeconds)
+                    || !pending.replace(key, startedAt, now)) {
+                return StoredResponse.PENDING;
+            }
+        }
+        // 占用期间可能刚有请求完成
+        response = completed.getIfPresent(key);
+        if (response != null) {
+            pending.remove(key, now);
+            return response;
+        }
+        if (!tableEnabled) {
+            return null;
+        }
+
+        try {
+            response = beginInTable(key);
+        } catch (RuntimeException e) {
+            pending.remove(key, now);
+            throw e;
+        }
+        if (response != null) {
+            pending.remove(key, now);
+        }
+        return response;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        completed.put(key, response);
+        pending.remove(key);
+        if (tableEnabled) {
+            SysIdempotencyKey record = new SysIdempotencyKey();
+            record.setIdempotencyKey(key);
+            record.setStatusCode(response.getStatusCode());
+            record.setContentType(response.getContentType());
+            record.setBody(new String(response.getBody(), StandardCharsets.UTF_8));
+            record.setRequestHash(response.getRequestHash());
+            record.setExpireTime(LocalDateTime.now().plusSeconds(ttlSeconds));
+            sysIdempotencyKeyMapper.updateById(record);
+        }
+    }
+
+    @Override
+    public void abort(String key) {
+        pending.remove(key);
+        if (tableEnabled) {
+            sysIdempotencyKeyMapper.deleteById(key);
+        }
+    }
+
+    /**
+     * 清理数据库中过期的幂等键
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        if (!tableEnabled) {
+            return;
+        }
+        int deleted;
+        do {
+            deleted = sysIdempotencyKeyMapper.deleteExpired(LocalDateTime.now());
+        } while (deleted > 0);
+    }
+
+    private StoredResponse beginInTable(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime pendingExpire = now.plusSeconds(pendingTimeoutSeconds);
+        if (sysIdempotencyKeyMapper.insertPending(key, pendingExpire) == 1) {
+            return null;
+        }
+        SysIdempotencyKey record = sysIdempotencyKeyMapper.selectById(key);
+        if (record == null || record.getExpireTime().isBefore(now)) {
+            // 已过期（首次请求超时未完成或保留期已过），删除后重新占用
+            sysIdempotencyKeyMapper.deleteExpiredKey(key, now);
+            return sysIdempotencyKeyMapper.insertPending(key, pendingExpire) == 1 ? null : StoredResponse.PENDING;
+        }
+        if (record.getStatusCode() == null) {
+            return StoredResponse.PENDING;
+        }
+        StoredResponse response = new StoredResponse(record.getStatusCode(), record.getContentType(),
+                record.getBody() == null ? new byte[0] : record.getBody().getBytes(StandardCharsets.UTF_8),
+                record.getRequestHash());
+        completed.put(key, response);
+        return response;
+    }
+}
@@ -0,0 +1,211 @@
+package com.campus.service.impl;
+
+import com.campus.common.RollingSeries;
+import com.campus.entity.BizOrder;
+import com.campus.exception.ServiceException;
+import com.campus.mapper.BizOrderMapper;
+import com.campus.service.OrderSeriesService;
+import com.campus.vo.OrderSeriesRow;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单时间序列服务实现
+ * 每笔订单同时累加到分钟、小时、天三个环形序列（写入时即完成降采样），成交额以分为单位存为 long。
+ * 时间使用本地时间的纪元秒，天的边界与自然日一致。
+ * 序列只在内存中，启动时用一次按桶聚合的查询从订单表回填，之后由下单和确认成交增量更新
+ */
+@Slf4j
+@Service
+public class OrderSeriesServiceImpl implements OrderSeriesService {
+
+    private static final int METRIC_COUNT = 2;
+
+    private static final long MINUTE = 60L;
+
+    private static final long HOUR = 3600L;
+
+    private static final long DAY = 86400L;
+
+    private static final DateTimeFormatter POINT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private BizOrderMapper bizOrderMapper;
+
+    @Value("${order.series.minute-retention-days:7}")
+    private int minuteRetentionDays;
+
+    @Value("${order.series.hour-retention-days:92}")
+    private int hourRetentionDays;
+
+    @Value("${order.series.day-retention-days:1100}")
+    private int dayRetentionDays;
+
+    @Value("${order.series.max-points:2000}")
+    private int maxPoints;
+
+    /**
+     * 由细到粗排列，查询时选择能满足步长和时间范围的最细粒度
+     */
+    private final List<RollingSeries> resolutions = new ArrayList<>();
+
+    /**
+     * 回填查询的截止时间：早于该时间创建的订单、早于该时间完成的成交额已由回填计入，
+     * 增量记录只接收之后的下单和完成
+     */
+    private volatile LocalDateTime cutoff;
+
+    @PostConstruct
+    public void init() {
+        resolutions.add(new RollingSeries(MINUTE, (int) (minuteRetentionDays * DAY / MINUTE), METRIC_COUNT));
+        resolutions.add(new RollingSeries(HOUR, (int) (hourRetentionDays * DAY / HOUR), METRIC_COUNT));
+        resolutions.add(new RollingSeries(DAY, dayRetentionDays, METRIC_COUNT));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        LocalDateTime end = LocalDateTime.now();
+        cutoff = end;
+        String[] formats = { "%Y-%m-%d %H:%i:00", "%Y-%m-%d %H:00:00", "%Y-%m-%d 00:00:00" };
+        long now = toSeconds(end);
+        for (int i = 0; i < resolutions.size(); i++) {
+            RollingSeries series = resolutions.get(i);
+            LocalDateTime from = LocalDateTime.ofEpochSecond(series.oldest(now), 0, ZoneOffset.UTC);
+            for (OrderSeriesRow row : bizOrderMapper.selectSeriesBuckets(formats[i], from, end)) {
+                long time = toSeconds(row.getBucketTime());
+                series.add(time, Metric.ORDERS.ordinal(), row.getOrderCount() == null ? 0L : row.getOrderCount());
+                series.add(time, Metric.GMV.ordinal(), toCents(row.getGmv()));
+            }
+        }
+        log.info("订单时间序列回填完成, 耗时 {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void recordCreated(BizOrder order) {
+        LocalDateTime createTime = order.getCreateTime() == null ? LocalDateTime.now() : order.getCreateTime();
+        LocalDateTime boundary = cutoff;
+        if (boundary == null || createTime.isBefore(boundary)) {
+            return;
+        }
+        long time = toSeconds(createTime);
+        boolean completed = Integer.valueOf(1).equals(order.getStatus());
+        for (RollingSeries series : resolutions) {
+            series.add(time, Metric.ORDERS.ordinal(), 1L);
+            if (completed) {
+                series.add(time, Metric.GMV.ordinal(), toCents(order.getAmount()));
+            }
+        }
+    }
+
+    @Override
+    public void recordCompleted(BizOrder order) {
+        LocalDateTime finishTime = order.getFinishTime() == null ? LocalDateTime.now() : order.getFinishTime();
+        LocalDateTime boundary = cutoff;
+        // 回填进行中完成的订单也要计入，不能以回填是否结束为准
+        if (boundary == null || finishTime.isBefore(boundary) || order.getCreateTime() == null) {
+            return;
+        }
+        long time = toSeconds(order.getCreateTime());
+        for (RollingSeries series : resolutions) {
+            series.add(time, Metric.GMV.ordinal(), toCents(order.getAmount()));
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> query(Metric metric, LocalDateTime from, LocalDateTime to, String step) {
+        long stepSeconds = parseStep(step);
+        long now = toSeconds(LocalDateTime.now());
+        long start = Math.floorDiv(toSeconds(from), stepSeconds) * stepSeconds;
+        long end = Math.min(toSeconds(to), (Math.floorDiv(now, stepSeconds) + 1) * stepSeconds);
+        if (end <= start) {
+            return new ArrayList<>();
+        }
+        if ((end - start) / stepSeconds > maxPoints) {
+            throw new ServiceException("数据点过多，请缩小时间范围或增大步长");
+        }
+
+        RollingSeries source = null;
+        for (RollingSeries series : resolutions) {
+            if (stepSeconds % series.getStep() == 0 && start >= series.oldest(now)) {
+                source = series;
+                break;
+            }
+        }
+        if (source == null) {
+            throw new ServiceException("起始时间超出该步长的数据保留期");
+        }
+
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (long time = start; time < end; time += stepSeconds) {
+            long value = source.sum(time, time + stepSeconds, metric.ordinal());
+            Map<String, Object> point = new HashMap<>();
+            point.put("time", LocalDateTime.ofEpochSecond(time, 0, ZoneOffset.UTC).format(POINT_FORMAT));
+            point.put("value", metric == Metric.GMV ? BigDecimal.valueOf(value, 2) : value);
+            points.add(point);
+        }
+        return points;
+    }
+
+    /**
+     * 解析步长：数字加单位 m（分钟）、h（小时）、d（天）
+     */
+    private long parseStep(String step) {
+        if (step == null || step.length() < 2) {
+            throw new ServiceException("步长格式错误，应为 1m、5m、1h、1d 等");
+        }
+        long unit;
+        switch (Character.toLowerCase(step.charAt(step.length() - 1))) {
+            case 'm':
+                unit = MINUTE;
+                break;
+            case 'h':
+                unit = HOUR;
+                break;
+            case 'd':
+                unit = DAY;
+                break;
+            default:
+                throw new ServiceException("步长格式错误，应为 1m、5m、1h、1d 等");
+        }
+        try {
+            long amount = Long.parseLong(step.substring(0, step.length() - 1));
+            if (amount <= 0) {
+                throw new ServiceException("步长必须大于 0");
+            }
+            long seconds = Math.multiplyExact(amount, unit);
+            if (seconds > dayRetentionDays * DAY) {
+                throw new ServiceException("步长不能超过数据保留期 " + dayRetentionDays + " 天");
+            }
+            return seconds;
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new ServiceException("步长格式错误，应为 1m、5m、1h、1d 等");
+        }
+    }
+
+    /**
+     * 本地时间的纪元秒：把本地时间当作 UTC 换算，天、小时边界与本地自然时间一致
+     */
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+}
@@ -0,0 +1,139 @@
+package com.campus.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.common.TimingWheel;
+import com.campus.entity.BizOrder;
+import com.campus.service.BizGoodsService;
+import com.campus.service.BizOrderService;
+import com.campus.service.OrderTimeoutService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 待交易订单超时服务实现
+ * 到期时间登记在分层时间轮中（1 秒一格、每层 60 格），登记和撤销都是 O(1)，
+ * 只在有订单到期时才访问数据库，无需定时全表轮询过期订单。
+ * 时间轮只在内存中，启动时从数据库中的待交易订单重建
+ */
+@Slf4j
+@Service
+public class OrderTimeoutServiceImpl implements OrderTimeoutService {
+
+    private static final long TICK_MS = 1000L;
+
+    private static final int WHEEL_SIZE = 60;
+
+    private static final int REBUILD_BATCH = 1000;
+
+    private static final long RETRY_DELAY_MS = 60_000L;
+
+    @Autowired
+    private BizOrderService bizOrderService;
+
+    @Autowired
+    private BizGoodsService bizGoodsService;
+
+    @Value("${order.pending-timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    /**
+     * 订单ID -> 时间轮中的任务，用于撤销
+     */
+    private final Map<Long, TimingWheel.Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+
+    /**
+     * 到期回调在单独线程中执行数据库操作，不阻塞时间轮驱动线程
+     */
+    private final ExecutorService expireExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-timeout-expire");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TimingWheel<Long> wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>("order-timeout-wheel", TICK_MS, WHEEL_SIZE, this::expire, expireExecutor);
+    }
+
+    /**
+     * 启动时按主键分批扫描待交易订单重建时间轮，停机期间已过期的订单会立即处理
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        int count = 0;
+        while (true) {
+            List<BizOrder> batch = bizOrderService.list(new LambdaQueryWrapper<BizOrder>()
+                    .select(BizOrder::getId, BizOrder::getCreateTime)
+                    .eq(BizOrder::getStatus, 0)
+                    .gt(BizOrder::getId, lastId)
+                    .orderByAsc(BizOrder::getId)
+                    .last("LIMIT " + REBUILD_BATCH));
+            for (BizOrder order : batch) {
+                schedule(order.getId(), order.getCreateTime());
+            }
+            count += batch.size();
+            if (batch.size() < REBUILD_BATCH) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        log.info("待交易订单超时登记重建完成: {} 个订单, 耗时 {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void schedule(Long orderId, LocalDateTime createTime) {
+        LocalDateTime base = createTime == null ? LocalDateTime.now() : createTime;
+        long deadline = base.plusMinutes(timeoutMinutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // 时间轮按格到期，可能提前至多一格触发，这里补上一格保证不早于截止时间
+        TimingWheel.Timeout<Long> previous = timeouts.put(orderId, wheel.schedule(orderId, deadline + TICK_MS));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    @Override
+    public void cancel(Long orderId) {
+        TimingWheel.Timeout<Long> timeout = timeouts.remove(orderId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.shutdown();
+        expireExecutor.shutdown();
+    }
+
+    private void expire(Long orderId) {
+        timeouts.remove(orderId);
+        try {
+            Long goodsId = bizOrderService.expireOrder(orderId);
+            if (goodsId != null) {
+                bizGoodsService.fireChanged(List.of(goodsId));
+                log.info("订单 {} 超时未确认，已取消并释放商品 {}", orderId, goodsId);
+            }
+        } catch (Exception e) {
+            log.error("订单 {} 超时取消失败，1 分钟后重试", orderId, e);
+            timeouts.put(orderId, wheel.schedule(orderId, System.currentTimeMillis() + RETRY_DELAY_MS));
+        }
+    }
+}
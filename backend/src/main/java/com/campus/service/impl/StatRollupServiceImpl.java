@@ -0,0 +1,118 @@
+package com.campus.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.entity.StatDaily;
+import com.campus.entity.StatDailyCategory;
+import com.campus.mapper.StatDailyMapper;
+import com.campus.service.StatRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 控制台统计汇总服务实现
+ * 每次重算先删除日期范围内的汇总行，再由数据库 GROUP BY 写入新值，同一范围在一个事务中完成；
+ * 定时任务只重算最近几天（按 create_time 索引范围扫描），每天凌晨全量重建一次。
+ * 较早的商品或用户被删除后，累计值在下一次全量重建前会略有偏高
+ */
+@Slf4j
+@Service
+public class StatRollupServiceImpl implements StatRollupService {
+
+    /**
+     * 全量重建时每个事务覆盖的天数
+     */
+    private static final int REBUILD_CHUNK_DAYS = 31;
+
+    @Autowired
+    private StatDailyMapper statDailyMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${stats.rollup.recent-days:7}")
+    private int recentDays;
+
+    /**
+     * 启动时汇总表为空则全量重建，否则只补算最近几天
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (statDailyMapper.selectCount(null) == 0) {
+            rebuildAll();
+        } else {
+            refreshRecent();
+        }
+    }
+
+    @Override
+    public void recompute(LocalDate from, LocalDate to) {
+        LocalDate end = to.plusDays(1);
+        LocalDateTime startTime = from.atStartOfDay();
+        LocalDateTime endTime = end.atStartOfDay();
+        transactionTemplate.executeWithoutResult(status -> {
+            statDailyMapper.deleteDailyRange(from, end);
+            statDailyMapper.deleteCategoryRange(from, end);
+            statDailyMapper.insertOrderRollup(startTime, endTime);
+            statDailyMapper.upsertUserRollup(startTime, endTime);
+            statDailyMapper.upsertGoodsRollup(startTime, endTime);
+            statDailyMapper.insertCategoryRollup(startTime, endTime);
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stats.rollup.refresh-interval-ms:60000}",
+            initialDelayString = "${stats.rollup.refresh-interval-ms:60000}")
+    public synchronized void refreshRecent() {
+        LocalDate today = LocalDate.now();
+        recompute(today.minusDays(recentDays - 1L), today);
+    }
+
+    @Override
+    @Scheduled(cron = "${stats.rollup.rebuild-cron:0 30 2 * * ?}")
+    public synchronized void rebuildAll() {
+        long start = System.currentTimeMillis();
+        LocalDateTime earliest = statDailyMapper.selectEarliestTime();
+        LocalDate today = LocalDate.now();
+        LocalDate first = earliest == null ? today : earliest.toLocalDate();
+        // 清掉早于最早数据的残留汇总行
+        transactionTemplate.executeWithoutResult(status -> {
+            statDailyMapper.deleteDailyRange(LocalDate.EPOCH, first);
+            statDailyMapper.deleteCategoryRange(LocalDate.EPOCH, first);
+        });
+        LocalDate from = first;
+        while (!from.isAfter(today)) {
+            LocalDate to = from.plusDays(REBUILD_CHUNK_DAYS - 1L);
+            recompute(from, to.isAfter(today) ? today : to);
+            from = to.plusDays(1);
+        }
+        log.info("控制台统计汇总全量重建完成, 耗时 {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public StatDaily totals() {
+        return statDailyMapper.selectTotals();
+    }
+
+    @Override
+    public List<StatDaily> daily(LocalDate from, LocalDate to) {
+        return statDailyMapper.selectList(new LambdaQueryWrapper<StatDaily>()
+                .ge(StatDaily::getStatDate, from)
+                .le(StatDaily::getStatDate, to)
+                .orderByAsc(StatDaily::getStatDate));
+    }
+
+    @Override
+    public List<StatDailyCategory> categoryTotals() {
+        return statDailyMapper.selectCategoryTotals();
+    }
+}
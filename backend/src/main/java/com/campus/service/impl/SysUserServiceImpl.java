@@ -6,9 +6,33 @@ import com.campus.mapper.SysUserMapper;
 import com.campus.service.SysUserService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * 用户服务实现类
  */
 @Service
 public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> implements SysUserService {
+
+    @Override
+    public Map<Long, SysUser> mapByIds(Collection<Long> ids) {
+        Map<Long, SysUser> result = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return result;
+        }
+        for (SysUser user : listByIds(distinctIds)) {
+            user.setPassword(null); // 脱敏
+            result.put(user.getId(), user);
+        }
+        return result;
+    }
 }
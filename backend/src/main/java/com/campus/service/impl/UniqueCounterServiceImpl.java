@@ -0,0 +1,266 @@
+package com.campus.service.impl;
+
+import com.campus.common.HyperLogLog;
+import com.campus.service.UniqueCounterService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 去重用户数统计服务实现
+ * 每天一组草图：全站浏览、下单、私聊各一个，另有每件被浏览商品一个；稀疏表示下小草图只占几十字节。
+ * 有变化的日期定时写入 data/unique/yyyy-MM-dd.hll，重启后加载；超过保留天数的日期从内存和磁盘清除
+ */
+@Slf4j
+@Service
+public class UniqueCounterServiceImpl implements UniqueCounterService {
+
+    private static final int FILE_VERSION = 1;
+
+    private static final String FILE_SUFFIX = ".hll";
+
+    @Value("${unique.dir:data/unique}")
+    private String dir;
+
+    @Value("${unique.retention-days:35}")
+    private int retentionDays;
+
+    private final Map<LocalDate, DaySketches> days = new ConcurrentHashMap<>();
+
+    /**
+     * 一天的草图，读写均在自身上同步
+     */
+    private static final class DaySketches {
+        private final HyperLogLog[] kinds = new HyperLogLog[Kind.values().length];
+        private final Map<Long, HyperLogLog> goods = new HashMap<>();
+        private boolean dirty;
+
+        private DaySketches() {
+            for (int i = 0; i < kinds.length; i++) {
+                kinds[i] = new HyperLogLog();
+            }
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        Path path = Paths.get(dir);
+        if (!Files.isDirectory(path)) {
+            return;
+        }
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                LocalDate date = parseDate(file);
+                if (date == null || date.isBefore(oldest)) {
+                    continue;
+                }
+                DaySketches day = readDay(file);
+                if (day != null) {
+                    days.put(date, day);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("读取去重统计文件失败: {}", path, e);
+        }
+        log.info("去重统计加载完成: {} 天", days.size());
+    }
+
+    @Override
+    public void record(Kind kind, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        DaySketches day = today();
+        synchronized (day) {
+            day.kinds[kind.ordinal()].add(userId);
+            day.dirty = true;
+        }
+    }
+
+    @Override
+    public void recordGoodsViewer(Long goodsId, Long userId) {
+        if (goodsId == null || userId == null) {
+            return;
+        }
+        DaySketches day = today();
+        synchronized (day) {
+            day.kinds[Kind.VIEWER.ordinal()].add(userId);
+            day.goods.computeIfAbsent(goodsId, key -> new HyperLogLog()).add(userId);
+            day.dirty = true;
+        }
+    }
+
+    @Override
+    public long count(Kind kind, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DaySketches day = days.get(date);
+            if (day != null) {
+                synchronized (day) {
+                    union.merge(day.kinds[kind.ordinal()]);
+                }
+            }
+        }
+        return union.estimate();
+    }
+
+    @Override
+    public long countGoodsViewers(Long goodsId, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DaySketches day = days.get(date);
+            if (day != null) {
+                synchronized (day) {
+                    HyperLogLog sketch = day.goods.get(goodsId);
+                    if (sketch != null) {
+                        union.merge(sketch);
+                    }
+                }
+            }
+        }
+        return union.estimate();
+    }
+
+    /**
+     * 写入有变化的日期，并清除超过保留天数的日期
+     */
+    @Scheduled(fixedDelayString = "${unique.checkpoint-interval-ms:60000}",
+            initialDelayString = "${unique.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        Path path = Paths.get(dir);
+        try {
+            Files.createDirectories(path);
+        } catch (IOException e) {
+            log.error("创建去重统计目录失败: {}", path, e);
+            return;
+        }
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        days.keySet().removeIf(date -> date.isBefore(oldest));
+        days.forEach((date, day) -> {
+            byte[][] kinds;
+            Map<Long, byte[]> goods;
+            synchronized (day) {
+                if (!day.dirty) {
+                    return;
+                }
+                kinds = new byte[day.kinds.length][];
+                for (int i = 0; i < kinds.length; i++) {
+                    kinds[i] = day.kinds[i].toBytes();
+                }
+                goods = new HashMap<>(day.goods.size() * 2);
+                day.goods.forEach((goodsId, sketch) -> goods.put(goodsId, sketch.toBytes()));
+                day.dirty = false;
+            }
+            if (!writeDay(path.resolve(date + FILE_SUFFIX), kinds, goods)) {
+                synchronized (day) {
+                    day.dirty = true;
+                }
+            }
+        });
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                LocalDate date = parseDate(file);
+                if (date != null && date.isBefore(oldest)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理过期去重统计文件失败: {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private DaySketches today() {
+        return days.computeIfAbsent(LocalDate.now(), key -> new DaySketches());
+    }
+
+    private static LocalDate parseDate(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(0, name.length() - FILE_SUFFIX.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private DaySketches readDay(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_VERSION) {
+                log.warn("去重统计文件版本不匹配，忽略: {}", file);
+                return null;
+            }
+            DaySketches day = new DaySketches();
+            int kindCount = in.readInt();
+            for (int i = 0; i < kindCount; i++) {
+                HyperLogLog sketch = readSketch(in);
+                if (i < day.kinds.length) {
+                    day.kinds[i] = sketch;
+                }
+            }
+            int goodsCount = in.readInt();
+            for (int i = 0; i < goodsCount; i++) {
+                long goodsId = in.readLong();
+                day.goods.put(goodsId, readSketch(in));
+            }
+            return day;
+        } catch (IOException e) {
+            log.warn("读取去重统计文件失败，忽略: {}", file, e);
+            return null;
+        }
+    }
+
+    private static HyperLogLog readSketch(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return HyperLogLog.fromBytes(bytes);
+    }
+
+    private boolean writeDay(Path file, byte[][] kinds, Map<Long, byte[]> goods) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_VERSION);
+                out.writeInt(kinds.length);
+                for (byte[] sketch : kinds) {
+                    out.writeInt(sketch.length);
+                    out.write(sketch);
+                }
+                out.writeInt(goods.size());
+                for (Map.Entry<Long, byte[]> entry : goods.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.error("写入去重统计文件失败: {}", file, e);
+            return false;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.campus.vo;
 
 import lombok.Data;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -15,4 +16,7 @@ public class DashboardVo {
     private List<Map<String, Object>> categoryData; // {name: 'Digital', value: 10}
     private List<Map<String, Object>> orderTrend; // {date: '2023-10-01', count: 5, amount: 100}
     private List<com.campus.entity.BizOrder> recentOrders;
+
+    private LocalDateTime snapshotTime; // 快照计算时间
+    private Long snapshotAgeMs; // 快照距今毫秒数
 }
@@ -0,0 +1,28 @@
+package com.campus.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 商品批量审核请求
+ * 指定 ids 时只处理这些商品；否则按卖家ID和关键词筛选，至少提供一个条件
+ */
+@Data
+public class GoodsBatchModerationVo {
+
+    /**
+     * 商品ID列表
+     */
+    private List<Long> ids;
+
+    /**
+     * 卖家ID
+     */
+    private Long sellerId;
+
+    /**
+     * 关键词（匹配标题或描述）
+     */
+    private String keyword;
+}
@@ -0,0 +1,28 @@
+package com.campus.vo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 商品卡片（列表页精简投影）
+ * 只包含列表卡片需要展示的字段，不含描述、标签、完整图片列表及卖家完整资料
+ */
+@Data
+public class GoodsCardVo {
+    private Long id;
+    private String title;
+    private BigDecimal price;
+
+    /**
+     * 封面图（图片列表的第一张）
+     */
+    private String coverImage;
+
+    private String location;
+    private LocalDateTime createTime;
+    private Long sellerId;
+    private String sellerNickname;
+    private String sellerAvatar;
+}
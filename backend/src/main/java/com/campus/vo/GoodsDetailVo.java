@@ -0,0 +1,14 @@
+package com.campus.vo;
+
+import com.campus.entity.BizGoods;
+import com.campus.entity.SysUser;
+import lombok.Data;
+
+/**
+ * 商品详情（商品 + 卖家）
+ */
+@Data
+public class GoodsDetailVo {
+    private BizGoods goods;
+    private SysUser seller;
+}
@@ -0,0 +1,33 @@
+package com.campus.vo;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 商品分面统计结果
+ * 每个维度的计数不受该维度自身的筛选条件约束，便于前端展示“切换到其他选项后的数量”
+ */
+@Data
+public class GoodsFacetVo {
+
+    /**
+     * 满足全部筛选条件的商品数
+     */
+    private Long total;
+
+    /**
+     * 分类ID -> 商品数
+     */
+    private Map<Long, Long> categoryCounts;
+
+    /**
+     * 价格区间 -> 商品数，区间格式 "min-max"（元，左闭右开），最后一档为 "min-"
+     */
+    private Map<String, Long> priceCounts;
+
+    /**
+     * 交易方式 -> 商品数
+     */
+    private Map<Integer, Long> deliveryTypeCounts;
+}
@@ -0,0 +1,46 @@
+package com.campus.vo;
+
+import lombok.Data;
+
+/**
+ * 批量发布商品的单条结果
+ */
+@Data
+public class GoodsImportResultVo {
+
+    /**
+     * 在请求中的序号（从 0 开始，NDJSON 按非空行计数）
+     */
+    private Integer index;
+
+    /**
+     * 是否发布成功
+     */
+    private Boolean success;
+
+    /**
+     * 新商品ID，失败时为空
+     */
+    private Long goodsId;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+
+    public static GoodsImportResultVo ok(int index, Long goodsId) {
+        GoodsImportResultVo vo = new GoodsImportResultVo();
+        vo.setIndex(index);
+        vo.setSuccess(true);
+        vo.setGoodsId(goodsId);
+        return vo;
+    }
+
+    public static GoodsImportResultVo fail(int index, String message) {
+        GoodsImportResultVo vo = new GoodsImportResultVo();
+        vo.setIndex(index);
+        vo.setSuccess(false);
+        vo.setMessage(message);
+        return vo;
+    }
+}
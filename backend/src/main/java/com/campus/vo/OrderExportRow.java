@@ -0,0 +1,34 @@
+package com.campus.vo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 订单导出行（订单联表商品标题和买卖双方昵称）
+ */
+@Data
+public class OrderExportRow {
+
+    private String orderNo;
+
+    private String goodsTitle;
+
+    private String buyerName;
+
+    private String sellerName;
+
+    private BigDecimal amount;
+
+    /**
+     * 状态 (0:待交易, 1:已完成, 2:已取消)
+     */
+    private Integer status;
+
+    private String remark;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime finishTime;
+}
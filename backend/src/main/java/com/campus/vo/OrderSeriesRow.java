@@ -0,0 +1,28 @@
+package com.campus.vo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 订单时间序列回填行：按时间桶聚合的订单数和成交额
+ */
+@Data
+public class OrderSeriesRow {
+
+    /**
+     * 时间桶起始时间
+     */
+    private LocalDateTime bucketTime;
+
+    /**
+     * 桶内新建订单数
+     */
+    private Long orderCount;
+
+    /**
+     * 桶内新建且已完成订单的成交额
+     */
+    private BigDecimal gmv;
+}
@@ -0,0 +1,63 @@
+-- 增量升级脚本：在 init.sql 初始化之后按顺序执行
+
+-- 游标分页 (create_time, id) 所需的联合索引
+ALTER TABLE biz_goods ADD INDEX idx_goods_status_time (status, create_time, id);
+ALTER TABLE biz_goods ADD INDEX idx_goods_seller_time (seller_id, create_time, id);
+ALTER TABLE biz_order ADD INDEX idx_order_buyer_time (buyer_id, create_time, id);
+ALTER TABLE biz_order ADD INDEX idx_order_seller_time (seller_id, create_time, id);
+ALTER TABLE biz_order ADD INDEX idx_order_time (create_time, id);
+ALTER TABLE biz_chat ADD INDEX idx_chat_time (create_time, id);
+
+-- 幂等键表（idempotency.table-enabled=true 时使用）
+CREATE TABLE IF NOT EXISTS sys_idempotency_key (
+    idempotency_key CHAR(64) NOT NULL COMMENT '幂等键摘要',
+    status_code INT DEFAULT NULL COMMENT '响应状态码，为空表示处理中',
+    content_type VARCHAR(100) DEFAULT NULL COMMENT '响应 Content-Type',
+    body MEDIUMTEXT COMMENT '响应体',
+    request_hash CHAR(64) DEFAULT NULL COMMENT '首次请求内容摘要',
+    expire_time DATETIME NOT NULL COMMENT '过期时间',
+    create_time DATETIME DEFAULT NULL COMMENT '创建时间',
+    PRIMARY KEY (idempotency_key),
+    KEY idx_idempotency_expire (expire_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='幂等键';
+
+-- 冷热归档：结构与热表相同，归档表额外按用户维度建索引供历史查询
+CREATE TABLE IF NOT EXISTS biz_order_archive LIKE biz_order;
+CREATE TABLE IF NOT EXISTS biz_chat_archive LIKE biz_chat;
+ALTER TABLE biz_chat_archive ADD INDEX idx_chat_archive_pair (sender_id, receiver_id, create_time);
+
+-- 控制台每日汇总：由汇总任务按 create_time 范围重算，控制台只读汇总表
+ALTER TABLE biz_goods ADD INDEX idx_goods_time (create_time);
+ALTER TABLE sys_user ADD INDEX idx_user_time (create_time);
+
+CREATE TABLE IF NOT EXISTS stat_daily (
+    stat_date DATE NOT NULL COMMENT '统计日期',
+    order_count BIGINT NOT NULL DEFAULT 0 COMMENT '新建订单数（含归档）',
+    gmv DECIMAL(14, 2) NOT NULL DEFAULT 0 COMMENT '当日新建且已完成订单的成交额',
+    new_users BIGINT NOT NULL DEFAULT 0 COMMENT '新注册用户数',
+    new_goods BIGINT NOT NULL DEFAULT 0 COMMENT '新发布商品数',
+    update_time DATETIME DEFAULT NULL COMMENT '最近一次重算时间',
+    PRIMARY KEY (stat_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日统计汇总';
+
+CREATE TABLE IF NOT EXISTS stat_daily_category (
+    stat_date DATE NOT NULL COMMENT '统计日期',
+    category_id BIGINT NOT NULL COMMENT '分类ID',
+    goods_count BIGINT NOT NULL DEFAULT 0 COMMENT '当日发布且未删除的商品数',
+    PRIMARY KEY (stat_date, category_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日分类商品汇总';
+
+-- 疑似跨卖家重复商品：商品发布或修改后由指纹索引发现，供管理员审核
+CREATE TABLE IF NOT EXISTS biz_goods_duplicate (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    goods_id BIGINT NOT NULL COMMENT '较新发布的商品ID',
+    seller_id BIGINT NOT NULL COMMENT '较新商品的卖家ID',
+    similar_goods_id BIGINT NOT NULL COMMENT '与之近似的较早商品ID',
+    similar_seller_id BIGINT NOT NULL COMMENT '较早商品的卖家ID',
+    status TINYINT NOT NULL DEFAULT 0 COMMENT '状态 (0:待审核, 1:已处理)',
+    create_time DATETIME DEFAULT NULL COMMENT '发现时间',
+    handle_time DATETIME DEFAULT NULL COMMENT '处理时间',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_goods_duplicate_pair (goods_id, similar_goods_id),
+    KEY idx_goods_duplicate_status (status, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='疑似跨卖家重复商品';
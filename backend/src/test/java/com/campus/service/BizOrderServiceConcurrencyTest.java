@@ -0,0 +1,144 @@
+package com.campus.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.campus.entity.BizCategory;
+import com.campus.entity.BizGoods;
+import com.campus.entity.BizOrder;
+import com.campus.exception.ServiceException;
+import com.campus.mapper.BizCategoryMapper;
+import com.campus.mapper.BizGoodsMapper;
+import com.campus.mapper.BizOrderMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 下单并发测试：同一商品被大量买家同时下单时只能有一个成功
+ * 需要连接 application.yml 中配置的数据库
+ */
+@SpringBootTest(properties = "order.reserve-enabled=false")
+class BizOrderServiceConcurrencyTest {
+
+    private static final int BUYERS = 500;
+
+    /**
+     * 测试商品的卖家ID，不与任何买家ID相同
+     */
+    private static final long SELLER_ID = 0L;
+
+    @Autowired
+    private BizOrderService bizOrderService;
+
+    @Autowired
+    private BizGoodsMapper bizGoodsMapper;
+
+    @Autowired
+    private BizOrderMapper bizOrderMapper;
+
+    @Autowired
+    private BizCategoryMapper bizCategoryMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    private Long goodsId;
+
+    @BeforeEach
+    void setUp() {
+        BizCategory category = new BizCategory();
+        category.setName("并发下单测试分类");
+        category.setIcon("");
+        category.setSortOrder(0);
+        category.setStatus(1);
+        category.setIsDeleted(0);
+        bizCategoryMapper.insert(category);
+        categoryId = category.getId();
+
+        BizGoods goods = new BizGoods();
+        goods.setSellerId(SELLER_ID);
+        goods.setCategoryId(categoryId);
+        goods.setTitle("并发下单测试商品");
+        goods.setDescription("并发下单测试商品");
+        goods.setPrice(new BigDecimal("99.00"));
+        goods.setOriginalPrice(new BigDecimal("199.00"));
+        goods.setLocation("测试");
+        goods.setDeliveryType(1);
+        goods.setTags("[]");
+        goods.setImages("[]");
+        goods.setViewCount(0);
+        goods.setStatus(0);
+        goods.setIsDeleted(0);
+        bizGoodsMapper.insert(goods);
+        goodsId = goods.getId();
+    }
+
+    /**
+     * 物理删除测试数据：商品和分类带逻辑删除，mapper 的删除只会打标记
+     */
+    @AfterEach
+    void tearDown() {
+        if (goodsId != null) {
+            jdbcTemplate.update("DELETE FROM biz_order WHERE goods_id = ?", goodsId);
+            jdbcTemplate.update("DELETE FROM biz_goods WHERE id = ?", goodsId);
+        }
+        if (categoryId != null) {
+            jdbcTemplate.update("DELETE FROM biz_category WHERE id = ?", categoryId);
+        }
+    }
+
+    @Test
+    void onlyOneBuyerWins() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(100);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(BUYERS);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = new ArrayList<>();
+
+        for (int i = 1; i <= BUYERS; i++) {
+            long buyerId = i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    bizOrderService.createOrder(buyerId, goodsId, null, null);
+                    succeeded.incrementAndGet();
+                } catch (ServiceException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    synchronized (unexpected) {
+                        unexpected.add(e);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(2, TimeUnit.MINUTES), "下单未在限定时间内全部完成");
+        executor.shutdown();
+
+        assertTrue(unexpected.isEmpty(), () -> "出现非业务异常: " + unexpected);
+        assertEquals(1, succeeded.get());
+        assertEquals(BUYERS - 1, rejected.get());
+        assertEquals(1L, bizOrderMapper.selectCount(
+                new LambdaQueryWrapper<BizOrder>().eq(BizOrder::getGoodsId, goodsId)));
+        assertEquals(2, bizGoodsMapper.selectById(goodsId).getStatus());
+    }
+}